@@ -3,6 +3,7 @@ plugins {
     jacoco
     id("org.springframework.boot") version "3.4.2"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "id.ac.ui.cs.advprog"
@@ -33,6 +34,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
@@ -43,6 +47,14 @@ dependencies {
     testImplementation("io.github.bonigarcia:selenium-jupiter:$seleniumJupiterVersion")
     testImplementation("io.github.bonigarcia:webdrivermanager:$webdrivermanagerVersion")
     testImplementation("org.junit.jupiter:junit-jupiter:$junitJupiterVersion")
+    jmhImplementation("org.springframework.boot:spring-boot-starter-test")
+    // Backs the JDBC store tests; the application only gets a driver with -Pjdbc
+    testRuntimeOnly("com.h2database:h2")
+    // The embedded database behind the "jdbc" profile; ./gradlew bootRun -Pjdbc --args=--spring.profiles.active=jdbc
+    if (project.hasProperty("jdbc")) {
+        runtimeOnly("com.h2database:h2")
+        jmhRuntimeOnly("com.h2database:h2")
+    }
 }
 tasks.register<Test>("unitTest") {
     description = "Runs unit tests."
@@ -73,4 +85,87 @@ tasks.test{
 
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
+}
+
+// Whole-request latency against the real endpoints, written to build/results/loadtest/results.json:
+// ./gradlew loadTest -PloadTestArgs="--rate=500 --duration=60s --server.tomcat.threads.max=50"
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+dependencies {
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+tasks.register<JavaExec>("loadTest") {
+    description = "Boots the app on a random port and reports request latency under an open-loop workload."
+    group = "verification"
+    classpath = loadTest.runtimeClasspath
+    mainClass = "com.example.eshop.loadtest.LoadTest"
+    workingDir = projectDir
+    args = project.findProperty("loadTestArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+// Fast-start packaging in build/fast-start: the boot jar unpacked by its tools jar mode plus an AppCDS archive
+// dumped by a training run. Run it with java -XX:SharedArchiveFile=eshop.jsa -jar eshop-<version>.jar
+// --spring.profiles.active=fast-start. -Paot adds Spring AOT (then also pass -Dspring.aot.enabled=true), which
+// settles @Profile and @ConditionalOnProperty at build time, so the eshop.* settings used then must match.
+if (project.hasProperty("aot")) {
+    apply(plugin = "org.springframework.boot.aot")
+}
+val fastStartDir = layout.buildDirectory.dir("fast-start")
+val fastStartJava = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(21) }
+val extractFastStart by tasks.registering(JavaExec::class) {
+    description = "Unpacks the boot jar into the layout the CDS archive is trained on."
+    group = "build"
+    val bootJar = tasks.bootJar.flatMap { it.archiveFile }
+    inputs.file(bootJar)
+    outputs.dir(fastStartDir)
+    javaLauncher = fastStartJava
+    classpath(bootJar)
+    mainClass = "org.springframework.boot.loader.launch.JarLauncher"
+    jvmArgs("-Djarmode=tools")
+    args("extract", "--force", "--destination", fastStartDir.get().asFile.path)
+    doFirst { delete(fastStartDir) }
+}
+tasks.register<Exec>("fastStart") {
+    description = "Builds the fast-start layout and trains its AppCDS archive on one application startup."
+    group = "build"
+    dependsOn(extractFastStart)
+    val jar = fastStartDir.map { it.file(tasks.bootJar.get().archiveFileName.get()) }
+    val archive = fastStartDir.map { it.file("eshop.jsa") }
+    outputs.file(archive)
+    // Exits once the context has refreshed, dumping every class loaded so far
+    executable = fastStartJava.get().executablePath.asFile.path
+    args("-XX:ArchiveClassesAtExit=" + archive.get().asFile.path, "-Xlog:cds=error", "-Dspring.context.exit=onRefresh")
+    if (project.hasProperty("aot")) {
+        args("-Dspring.aot.enabled=true")
+    }
+    args("-jar", jar.get().asFile.path, "--server.port=0")
+}
+tasks.register<JavaExec>("startupBenchmark") {
+    description = "Times each packaging mode from JVM launch to the first successful GET /product/list."
+    group = "verification"
+    dependsOn("fastStart")
+    classpath = loadTest.runtimeClasspath
+    mainClass = "com.example.eshop.loadtest.StartupBenchmark"
+    workingDir = projectDir
+    args("--java=" + fastStartJava.get().executablePath.asFile.path,
+        "--bootJar=" + tasks.bootJar.get().archiveFile.get().asFile.path,
+        "--fastStart=" + fastStartDir.get().asFile.path,
+        "--aot=" + project.hasProperty("aot"))
+    args(project.findProperty("startupArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList<String>())
+}
+
+// ./gradlew jmh -PjmhIncludes=Repository writes build/results/jmh/results.json for comparing commits
+jmh {
+    warmupIterations = 2
+    iterations = 3
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    if (project.hasProperty("jmhIncludes")) {
+        includes = listOf(project.property("jmhIncludes").toString())
+    }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.analytics.AnalyticsService;
+import com.example.eshop.analytics.InventoryAnalytics;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepository;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import com.example.eshop.repository.ShardedProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Time for a full inventory scan against the row count, on the plain and the sharded product store.
+ * scan forces a fresh pass each time by changing one row first; boxedSequential computes the same
+ * product figures the obvious way, with a sequential stream over findAll and boxing collectors.
+ * Needs a heap of several gigabytes for the 10M rows case, e.g. -jvmArgs -Xmx8g.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnalyticsBenchmark {
+
+    private static final int CARS = 10_000;
+
+    @Param({"100000", "1000000", "10000000"})
+    private int rows;
+
+    @Param({"0", "16"})
+    private int shards;
+
+    private ProductRepositoryInterface products;
+    private AnalyticsService service;
+    private Product touched;
+
+    @Setup
+    public void setUp() {
+        products = shards == 0 ? new ProductRepository() : new ShardedProductRepository(shards);
+        for (int i = 0; i < rows; i++) {
+            products.create(RepositoryOperationsBenchmark.product(i));
+        }
+        CarRepository cars = new CarRepository();
+        for (int i = 0; i < CARS; i++) {
+            cars.create(RepositoryOperationsBenchmark.car(i));
+        }
+        touched = products.findAll().next();
+        service = new AnalyticsService(products, cars, Duration.ZERO);
+    }
+
+    @Benchmark
+    public InventoryAnalytics scan() {
+        products.update(touched);
+        return service.inventory(AnalyticsService.MAX_TOP);
+    }
+
+    @Benchmark
+    public Object boxedSequential() {
+        Iterator<Product> all = products.findAll();
+        List<Product> rowsList = StreamSupport.stream(Spliterators.spliteratorUnknownSize(all, Spliterator.NONNULL), false)
+                .toList();
+        long units = rowsList.stream().mapToLong(Product::getProductQuantity).sum();
+        Map<Integer, Long> histogram = rowsList.stream().collect(Collectors.groupingBy(
+                product -> 32 - Integer.numberOfLeadingZeros(Math.max(0, product.getProductQuantity())),
+                Collectors.counting()));
+        List<Product> top = rowsList.stream()
+                .sorted(Comparator.comparingInt(Product::getProductQuantity).reversed())
+                .limit(AnalyticsService.MAX_TOP)
+                .toList();
+        return List.of(units, histogram, top);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.repository.CarRepositoryInterface;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Heap and direct memory retained by N cars in the original ArrayList<Car>, the EntityStore and the off-heap store
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class CarFootprintBenchmark {
+
+    @Param({"list", "heap", "offheap"})
+    private String storage;
+
+    @Param({"1000000"})
+    private int size;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long heapBytes;
+        public long directBytes;
+    }
+
+    @Benchmark
+    public Object load(Footprint footprint) {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        Object rows;
+        if ("list".equals(storage)) {
+            List<Car> cars = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Car car = CarStorageBenchmark.car(i);
+                car.setCarId(UUID.randomUUID().toString());
+                cars.add(car);
+            }
+            rows = cars;
+        } else {
+            CarRepositoryInterface repository = CarStorageBenchmark.newRepository(storage);
+            for (int i = 0; i < size; i++) {
+                repository.create(CarStorageBenchmark.car(i));
+            }
+            rows = repository;
+        }
+        footprint.heapBytes = usedHeap() - heapBefore;
+        footprint.directBytes = usedDirect() - directBefore;
+        return rows;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        long used = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                used += pool.getMemoryUsed();
+            }
+        }
+        return used;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.repository.CarRepository;
+import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.repository.OffHeapCarRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Compares lookups on the heap EntityStore and the off-heap columnar store
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CarStorageBenchmark {
+
+    private static final String[] COLORS = {"Red", "Blue", "Black", "White", "Silver"};
+
+    @Param({"heap", "offheap"})
+    private String storage;
+
+    @Param({"100000"})
+    private int size;
+
+    private CarRepositoryInterface repository;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        repository = newRepository(storage);
+        ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = repository.create(car(i)).getCarId();
+        }
+    }
+
+    @Benchmark
+    public Car findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<Car> findByColor() {
+        return repository.findByColor("Silver");
+    }
+
+    static CarRepositoryInterface newRepository(String storage) {
+        return "offheap".equals(storage) ? new OffHeapCarRepository() : new CarRepository();
+    }
+
+    static Car car(int i) {
+        Car car = new Car();
+        car.setCarName("Car model " + i);
+        car.setCarColor(COLORS[i % COLORS.length]);
+        car.setCarQuantity(i % 100);
+        return car;
+    }
+}
\ No newline at end of file
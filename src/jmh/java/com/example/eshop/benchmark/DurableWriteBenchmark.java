@@ -0,0 +1,63 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.persistence.PersistenceProperties;
+import com.example.eshop.repository.persistence.ProductCodec;
+import com.example.eshop.repository.persistence.StorePersistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Sample-time mode reports write latency percentiles, so p99 can be compared with and without the log
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class DurableWriteBenchmark {
+
+    @Param({"memory", "wal", "wal-fsync"})
+    private String mode;
+
+    private ProductRepository repository;
+    private StorePersistence<Product> persistence;
+
+    @Setup
+    public void setUp() throws IOException {
+        repository = new ProductRepository();
+        if (!"memory".equals(mode)) {
+            Path directory = Files.createTempDirectory("eshop-wal-benchmark");
+            PersistenceProperties properties = new PersistenceProperties(true, directory,
+                    "wal-fsync".equals(mode), Duration.ofHours(1));
+            persistence = StorePersistence.open(repository, "product", new ProductCodec(), properties);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (persistence != null) {
+            persistence.close();
+        }
+    }
+
+    @Benchmark
+    public Product create() {
+        Product product = new Product();
+        product.setProductName("Benchmark product");
+        product.setProductQuantity(1);
+        return repository.create(product);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.timing.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of placing and withdrawing one hold while many others are pending: the timing wheel against a
+ * ScheduledThreadPoolExecutor, whose delay queue is a binary heap of one task per hold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HoldExpiryBenchmark {
+
+    private static final long HOLD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final Runnable RELEASE = () -> { };
+
+    @Param({"10000", "1000000"})
+    private int pending;
+
+    private TimingWheel wheel;
+    private ScheduledThreadPoolExecutor executor;
+
+    @Setup
+    public void setUp() {
+        wheel = new TimingWheel("benchmark", 100, () -> System.nanoTime() / 1_000_000, lag -> { });
+        wheel.start();
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        for (int i = 0; i < pending; i++) {
+            long delay = HOLD_MILLIS + ThreadLocalRandom.current().nextLong(HOLD_MILLIS);
+            wheel.schedule(delay, RELEASE);
+            executor.schedule(RELEASE, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        wheel.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean timingWheel() {
+        return wheel.schedule(HOLD_MILLIS, RELEASE).cancel();
+    }
+
+    @Benchmark
+    public boolean scheduledExecutor() {
+        ScheduledFuture<?> future = executor.schedule(RELEASE, HOLD_MILLIS, TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.CompactId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Id minting under parallel inserts: SecureRandom-backed UUIDs against per-thread compact ids
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class IdGenerationBenchmark {
+
+    @Threads(1)
+    public static class SingleThread extends IdGenerationBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class AllCores extends IdGenerationBenchmark {
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String compactId() {
+        return CompactId.generate().toString();
+    }
+
+    @Benchmark
+    public CompactId parseCompactId() {
+        return CompactId.parse("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b");
+    }
+}
\ No newline at end of file
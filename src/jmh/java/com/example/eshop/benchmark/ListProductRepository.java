@@ -0,0 +1,131 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import com.example.eshop.repository.StoreListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+// The original ArrayList-backed repository, kept as the baseline for the benchmarks. Versions are one
+// counter for the whole list, so versionOf reports that counter for any row that exists.
+public class ListProductRepository implements ProductRepositoryInterface {
+
+    private final List<Product> productData = new ArrayList<>();
+    private final List<StoreListener<Product>> listeners = new ArrayList<>();
+    private long version;
+
+    @Override
+    public void addListener(StoreListener<Product> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public Product create(Product product) {
+        if (product.getProductId() == null || product.getProductId().isEmpty()) {
+            product.setProductId(UUID.randomUUID().toString());
+        }
+        productData.add(product);
+        changed(product.getProductId(), null, product);
+        return product;
+    }
+
+    @Override
+    public void createAll(List<Product> products) {
+        for (Product product : products) {
+            create(product);
+        }
+    }
+
+    @Override
+    public Iterator<Product> findAll() {
+        return new ArrayList<>(productData).iterator();
+    }
+
+    @Override
+    public Page<Product> findPage(String cursor, int limit) {
+        int start = cursor == null ? 0 : Integer.parseInt(cursor);
+        int end = Math.min(start + limit, productData.size());
+        List<Product> items = new ArrayList<>(productData.subList(start, end));
+        return new Page<>(items, end < productData.size() ? Integer.toString(end) : null);
+    }
+
+    @Override
+    public Product findById(String id) {
+        return productData.stream()
+                .filter(product -> product.getProductId().equals(id))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Product update(Product updatedProduct) {
+        for (int i = 0; i < productData.size(); i++) {
+            if (productData.get(i).getProductId().equals(updatedProduct.getProductId())) {
+                Product previous = productData.set(i, updatedProduct);
+                changed(updatedProduct.getProductId(), previous, updatedProduct);
+                return updatedProduct;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Product> findByName(String productName) {
+        return productData.stream()
+                .filter(product -> product.getProductName().equals(productName))
+                .toList();
+    }
+
+    @Override
+    public synchronized boolean adjustQuantity(String productId, int delta) {
+        Product product = findById(productId);
+        if (product == null || product.getProductQuantity() + delta < 0) {
+            return false;
+        }
+        Product previous = new Product();
+        previous.setProductId(product.getProductId());
+        previous.setProductName(product.getProductName());
+        previous.setProductQuantity(product.getProductQuantity());
+        product.setProductQuantity(product.getProductQuantity() + delta);
+        changed(productId, previous, product);
+        return true;
+    }
+
+    @Override
+    public long count() {
+        return productData.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        Product removed = findById(id);
+        if (removed != null) {
+            productData.removeIf(product -> product == removed);
+            version++;
+            for (StoreListener<Product> listener : listeners) {
+                listener.onDelete(id, removed);
+            }
+        }
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public long versionOf(String id) {
+        return findById(id) == null ? 0 : version;
+    }
+
+    private void changed(String id, Product previous, Product current) {
+        version++;
+        for (StoreListener<Product> listener : listeners) {
+            listener.onSave(id, previous, current);
+        }
+    }
+}
\ No newline at end of file
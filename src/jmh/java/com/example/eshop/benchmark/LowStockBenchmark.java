@@ -0,0 +1,64 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.search.QuantityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The low-stock range walk against copying every row and sorting it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LowStockBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"10"})
+    private int below;
+
+    private ProductRepository repository;
+    private QuantityIndex<Product> index;
+
+    @Setup
+    public void setUp() {
+        repository = new ProductRepository();
+        index = new QuantityIndex<>(Product::getProductQuantity);
+        repository.addListener(index);
+        for (int i = 0; i < size; i++) {
+            repository.create(RepositoryOperationsBenchmark.product(i));
+        }
+    }
+
+    @Benchmark
+    public List<String> indexRange() {
+        return index.below(below, 100);
+    }
+
+    @Benchmark
+    public List<Product> scanAndSort() {
+        List<Product> matches = new ArrayList<>();
+        Iterator<Product> products = repository.findAll();
+        while (products.hasNext()) {
+            Product product = products.next();
+            if (product.getProductQuantity() < below) {
+                matches.add(product);
+            }
+        }
+        matches.sort(Comparator.comparingInt(Product::getProductQuantity).thenComparing(Product::getProductId));
+        return matches.subList(0, Math.min(100, matches.size()));
+    }
+}
\ No newline at end of file
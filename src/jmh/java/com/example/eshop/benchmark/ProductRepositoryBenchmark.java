@@ -0,0 +1,84 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductRepositoryBenchmark {
+
+    @Param({"list", "concurrent"})
+    private String implementation;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private ProductRepositoryInterface repository;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        repository = "list".equals(implementation) ? new ListProductRepository() : new ProductRepository();
+        ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + i);
+            product.setProductQuantity(i + 1);
+            ids[i] = repository.create(product).getProductId();
+        }
+    }
+
+    @Benchmark
+    public Product findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Product update() {
+        Product product = new Product();
+        product.setProductId(randomId());
+        product.setProductName("Updated");
+        product.setProductQuantity(1);
+        return repository.update(product);
+    }
+
+    @Benchmark
+    public void deleteAndCreate() {
+        Product product = repository.findById(randomId());
+        repository.deleteById(product.getProductId());
+        repository.create(product);
+    }
+
+    @Benchmark
+    public void findAll(Blackhole blackhole) {
+        Iterator<Product> products = repository.findAll();
+        while (products.hasNext()) {
+            blackhole.consume(products.next());
+        }
+    }
+
+    @Benchmark
+    public Page<Product> firstPage() {
+        return repository.findPage(null, 50);
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepository;
+import com.example.eshop.repository.OffHeapCarRepository;
+import com.example.eshop.repository.Page;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.RepositoryInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Every RepositoryInterface operation against each repository implementation and data size. The nested
+ * subclasses run the same methods with one thread, four threads and one thread per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public abstract class RepositoryOperationsBenchmark {
+
+    @Param({"product", "car", "offheapCar"})
+    private String repository;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private RepositoryInterface<Object> store;
+    private IntFunction<Object> factory;
+    private Function<Object, String> idExtractor;
+    private String[] ids;
+
+    @Threads(1)
+    public static class SingleThread extends RepositoryOperationsBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends RepositoryOperationsBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class AllCores extends RepositoryOperationsBenchmark {
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        switch (repository) {
+            case "product" -> {
+                store = (RepositoryInterface<Object>) (RepositoryInterface<?>) new ProductRepository();
+                factory = RepositoryOperationsBenchmark::product;
+                idExtractor = item -> ((Product) item).getProductId();
+            }
+            case "car", "offheapCar" -> {
+                store = (RepositoryInterface<Object>) (RepositoryInterface<?>)
+                        ("car".equals(repository) ? new CarRepository() : new OffHeapCarRepository());
+                factory = RepositoryOperationsBenchmark::car;
+                idExtractor = item -> ((Car) item).getCarId();
+            }
+            default -> throw new IllegalArgumentException("Unknown repository " + repository);
+        }
+        ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = idExtractor.apply(store.create(factory.apply(i)));
+        }
+    }
+
+    @Benchmark
+    public Object create() {
+        return store.create(factory.apply(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    public Object findById() {
+        return store.findById(randomId());
+    }
+
+    @Benchmark
+    public Object update() {
+        Object item = factory.apply(ThreadLocalRandom.current().nextInt());
+        String id = randomId();
+        if (item instanceof Product product) {
+            product.setProductId(id);
+        } else {
+            ((Car) item).setCarId(id);
+        }
+        return store.update(item);
+    }
+
+    // Deletes and recreates the same row so the data size stays constant
+    @Benchmark
+    public Object deleteById() {
+        String id = randomId();
+        Object item = store.findById(id);
+        store.deleteById(id);
+        return item == null ? null : store.create(item);
+    }
+
+    @Benchmark
+    public void findAll(Blackhole blackhole) {
+        Iterator<Object> items = store.findAll();
+        while (items.hasNext()) {
+            blackhole.consume(items.next());
+        }
+    }
+
+    @Benchmark
+    public Page<Object> findPage() {
+        return store.findPage(null, 50);
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    static Product product(int i) {
+        Product product = new Product();
+        product.setProductName("Product " + i);
+        product.setProductQuantity(1 + Math.floorMod(i, 1000));
+        return product;
+    }
+
+    static Car car(int i) {
+        Car car = new Car();
+        car.setCarName("Car " + i);
+        car.setCarColor(i % 2 == 0 ? "Red" : "Blue");
+        car.setCarQuantity(Math.floorMod(i, 100));
+        return car;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.search.TextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Index lookups against the stream-filter scan they replace
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {"sampo", "sabun", "odol", "kopi", "teh", "gula", "beras", "minyak"};
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"sab", "kopi gula", "minyak 4242"})
+    private String query;
+
+    private ProductRepository repository;
+    private TextIndex<Product> index;
+
+    @Setup
+    public void setUp() {
+        repository = new ProductRepository();
+        index = new TextIndex<>(Product::getProductName);
+        repository.addListener(index);
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setProductName(WORDS[i % WORDS.length] + " " + WORDS[(i / 8) % WORDS.length] + " " + i);
+            product.setProductQuantity(1);
+            repository.create(product);
+        }
+    }
+
+    @Benchmark
+    public List<String> indexSearch() {
+        return index.search(query, 50);
+    }
+
+    @Benchmark
+    public int scanSearch() {
+        String[] terms = query.split(" ");
+        int found = 0;
+        Iterator<Product> products = repository.findAll();
+        while (products.hasNext() && found < 50) {
+            String name = products.next().getProductName();
+            boolean matches = true;
+            for (String term : terms) {
+                matches &= name.contains(term);
+            }
+            if (matches) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
\ No newline at end of file
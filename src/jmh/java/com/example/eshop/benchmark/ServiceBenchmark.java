@@ -0,0 +1,69 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// ProductServiceImpl and CarServiceImpl paths as wired by Spring, including validation and search
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    @Benchmark
+    public Product productFindById(SpringApplicationState app) {
+        return app.productService.findById(random(app.productIds));
+    }
+
+    @Benchmark
+    public Page<Product> productFindPage(SpringApplicationState app) {
+        return app.productService.findPage(null, 50);
+    }
+
+    @Benchmark
+    public List<Product> productFindAll(SpringApplicationState app) {
+        return app.productService.findAll();
+    }
+
+    @Benchmark
+    public Product productUpdate(SpringApplicationState app) {
+        Product product = RepositoryOperationsBenchmark.product(ThreadLocalRandom.current().nextInt());
+        product.setProductId(random(app.productIds));
+        return app.productService.update(product);
+    }
+
+    @Benchmark
+    public List<Product> productSearch(SpringApplicationState app) {
+        return app.productService.search("product 12", 20);
+    }
+
+    @Benchmark
+    public Car carFindById(SpringApplicationState app) {
+        return app.carService.findById(random(app.carIds));
+    }
+
+    @Benchmark
+    public Page<Car> carFindPage(SpringApplicationState app) {
+        return app.carService.findPage(null, 50);
+    }
+
+    @Benchmark
+    public Car carUpdate(SpringApplicationState app) {
+        Car car = RepositoryOperationsBenchmark.car(ThreadLocalRandom.current().nextInt());
+        String carId = random(app.carIds);
+        car.setCarId(carId);
+        app.carService.update(carId, car);
+        return car;
+    }
+
+    private static String random(String[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import com.example.eshop.repository.ShardedProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput against the shard count, with 0 standing for the unsharded store. Inserts are paired
+ * with a delete so the row count stays level; updates replace random rows of a seeded table. Comparing
+ * the nested thread-count variants shows how far each shard count scales with cores, and firstPage shows
+ * what the fan-out costs the reads that have to visit every shard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public abstract class ShardedWriteBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"0", "1", "4", "16", "64"})
+    private int shards;
+
+    private ProductRepositoryInterface products;
+    private String[] ids;
+
+    @Threads(1)
+    public static class SingleThread extends ShardedWriteBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends ShardedWriteBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class AllCores extends ShardedWriteBenchmark {
+    }
+
+    @Setup
+    public void setUp() {
+        products = shards == 0 ? new ProductRepository() : new ShardedProductRepository(shards);
+        ids = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            ids[i] = products.create(RepositoryOperationsBenchmark.product(i)).getProductId();
+        }
+    }
+
+    @Benchmark
+    public void insertAndDelete() {
+        Product product = RepositoryOperationsBenchmark.product(ThreadLocalRandom.current().nextInt(ROWS));
+        products.deleteById(products.create(product).getProductId());
+    }
+
+    @Benchmark
+    public Product update() {
+        int row = ThreadLocalRandom.current().nextInt(ROWS);
+        Product product = RepositoryOperationsBenchmark.product(row);
+        product.setProductId(ids[row]);
+        return products.update(product);
+    }
+
+    @Benchmark
+    public Page<Product> firstPage() {
+        return products.findPage(null, 50);
+    }
+}
\ No newline at end of file
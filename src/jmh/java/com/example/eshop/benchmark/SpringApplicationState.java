@@ -0,0 +1,51 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.EshopApplication;
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.service.CarService;
+import com.example.eshop.service.ProductService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Boots the whole application once per trial and seeds it with products and cars
+@State(Scope.Benchmark)
+public class SpringApplicationState {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    public ConfigurableApplicationContext context;
+    public ProductService productService;
+    public CarService carService;
+    public String[] productIds;
+    public String[] carIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(EshopApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn")
+                .run();
+        productService = context.getBean(ProductService.class);
+        carService = context.getBean(CarService.class);
+        productIds = new String[size];
+        carIds = new String[size];
+        for (int i = 0; i < size; i++) {
+            Product product = RepositoryOperationsBenchmark.product(i);
+            productIds[i] = productService.create(product).getProductId();
+            Car car = RepositoryOperationsBenchmark.car(i);
+            carIds[i] = carService.create(car).getCarId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
\ No newline at end of file
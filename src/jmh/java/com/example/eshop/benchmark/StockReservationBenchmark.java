@@ -0,0 +1,66 @@
+package com.example.eshop.benchmark;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout-style stock churn: every operation reserves one unit of a random hot SKU and releases it again,
+ * so stock never runs out. Comparing the nested thread-count variants shows how throughput scales with
+ * cores as the number of contended SKUs shrinks. The list baseline serializes every adjustment on one lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public abstract class StockReservationBenchmark {
+
+    @Param({"store", "list"})
+    private String repository;
+
+    @Param({"1", "16", "1024"})
+    private int hotSkus;
+
+    private ProductRepositoryInterface products;
+    private String[] ids;
+
+    @Threads(1)
+    public static class SingleThread extends StockReservationBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends StockReservationBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class AllCores extends StockReservationBenchmark {
+    }
+
+    @Setup
+    public void setUp() {
+        products = "list".equals(repository) ? new ListProductRepository() : new ProductRepository();
+        ids = new String[hotSkus];
+        for (int i = 0; i < hotSkus; i++) {
+            Product product = RepositoryOperationsBenchmark.product(i);
+            product.setProductQuantity(1_000_000);
+            ids[i] = products.create(product).getProductId();
+        }
+    }
+
+    @Benchmark
+    public boolean reserveAndRelease() {
+        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return products.adjustQuantity(id, -1) && products.adjustQuantity(id, 1);
+    }
+}
\ No newline at end of file
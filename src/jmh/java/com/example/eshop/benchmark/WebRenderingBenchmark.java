@@ -0,0 +1,60 @@
+package com.example.eshop.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Controller dispatch plus Thymeleaf rendering through MockMvc, without the network stack
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WebRenderingBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp(SpringApplicationState app) {
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) app.context).build();
+    }
+
+    @Benchmark
+    public String productListPage() throws Exception {
+        return render("/product/list");
+    }
+
+    @Benchmark
+    public String productListAll() throws Exception {
+        return render("/product/list/all");
+    }
+
+    @Benchmark
+    public String productEditPage(SpringApplicationState app) throws Exception {
+        return render("/product/edit/" + app.productIds[ThreadLocalRandom.current().nextInt(app.size)]);
+    }
+
+    @Benchmark
+    public String carListPage() throws Exception {
+        return render("/car/listCar");
+    }
+
+    @Benchmark
+    public String carEditPage(SpringApplicationState app) throws Exception {
+        return render("/car/editCar/" + app.carIds[ThreadLocalRandom.current().nextInt(app.size)]);
+    }
+
+    private String render(String path) throws Exception {
+        return mockMvc.perform(get(path)).andReturn().getResponse().getContentAsString();
+    }
+}
\ No newline at end of file
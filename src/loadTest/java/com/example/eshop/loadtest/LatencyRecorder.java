@@ -0,0 +1,87 @@
+package com.example.eshop.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms, in nanoseconds. Each request is recorded twice: from the moment the
+ * schedule said it should start, which charges queueing behind a stalled server to the requests that
+ * waited, and from the moment it was actually sent, which is what a closed-loop client would report.
+ * The gap between the two is the coordinated omission the first one corrects for.
+ */
+final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(5);
+
+    record Latency(double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    record Summary(long count, long errors, Latency corrected, Latency uncorrected) {
+    }
+
+    private static final class Stats {
+        private final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+        private final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    void record(Operation operation, long intendedStart, long sent, long completed, boolean ok) {
+        Stats operationStats = stats.get(operation);
+        operationStats.corrected.recordValue(Math.min(completed - intendedStart, HIGHEST_TRACKABLE));
+        operationStats.uncorrected.recordValue(Math.min(completed - sent, HIGHEST_TRACKABLE));
+        if (!ok) {
+            operationStats.errors.increment();
+        }
+    }
+
+    Summary total() {
+        Histogram corrected = new Histogram(HIGHEST_TRACKABLE, 3);
+        Histogram uncorrected = new Histogram(HIGHEST_TRACKABLE, 3);
+        long errors = 0;
+        for (Stats operationStats : stats.values()) {
+            corrected.add(operationStats.corrected);
+            uncorrected.add(operationStats.uncorrected);
+            errors += operationStats.errors.sum();
+        }
+        return summarize(corrected, uncorrected, errors);
+    }
+
+    // Keyed by endpoint, leaving out operations the mix never issued
+    Map<String, Summary> byOperation() {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> {
+            if (operationStats.corrected.getTotalCount() > 0) {
+                summaries.put(operation.label(), summarize(operationStats.corrected, operationStats.uncorrected,
+                        operationStats.errors.sum()));
+            }
+        });
+        return summaries;
+    }
+
+    private static Summary summarize(Histogram corrected, Histogram uncorrected, long errors) {
+        return new Summary(corrected.getTotalCount(), errors, latency(corrected), latency(uncorrected));
+    }
+
+    private static Latency latency(Histogram histogram) {
+        return new Latency(millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
\ No newline at end of file
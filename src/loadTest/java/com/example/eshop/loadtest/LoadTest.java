@@ -0,0 +1,191 @@
+package com.example.eshop.loadtest;
+
+import com.example.eshop.EshopApplication;
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.service.CarService;
+import com.example.eshop.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Whole-request load test against the real endpoints. Boots the application on a random local port,
+ * seeds it through the services, then sends requests on a fixed schedule regardless of how fast earlier
+ * ones come back (an open loop), each on its own virtual thread. A warmup phase runs the same schedule
+ * first and its numbers are dropped. Results go to stdout and, as JSON, to the output file.
+ *
+ * Run with ./gradlew loadTest -PloadTestArgs="--rate=500 --duration=60s --server.tomcat.threads.max=50".
+ */
+public final class LoadTest {
+
+    record Configuration(int rate, double durationSeconds, double warmupSeconds, int products, int cars,
+                         Map<String, Integer> mix, List<String> applicationArgs) {
+    }
+
+    record Report(Configuration configuration, double throughput, LatencyRecorder.Summary total,
+                  Map<String, LatencyRecorder.Summary> operations) {
+    }
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final URI base;
+    private final Operation[] schedule;
+    private final List<String> editableCars = new ArrayList<>();
+    // Cars set aside for deletes, so edits keep hitting rows that exist
+    private final ConcurrentLinkedQueue<String> deletableCars = new ConcurrentLinkedQueue<>();
+    private long created;
+
+    private LoadTest(LoadTestOptions options, int port) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.base = URI.create("http://localhost:" + port);
+        List<Operation> weighted = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.schedule = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EshopApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn")
+                .run(options.applicationArgs().toArray(String[]::new))) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            LoadTest test = new LoadTest(options, port);
+            test.seed(context.getBean(ProductService.class), context.getBean(CarService.class));
+
+            Random random = new Random(options.seed());
+            if (!options.warmup().isZero()) {
+                test.run(options.warmup(), random, new LatencyRecorder());
+            }
+            LatencyRecorder recorder = new LatencyRecorder();
+            double elapsedSeconds = test.run(options.duration(), random, recorder);
+
+            LatencyRecorder.Summary total = recorder.total();
+            Report report = new Report(
+                    new Configuration(options.rate(), seconds(options.duration()), seconds(options.warmup()),
+                            options.products(), options.cars(), mixByKey(options.mix()), options.applicationArgs()),
+                    Math.round(total.count() / elapsedSeconds * 10) / 10.0, total, recorder.byOperation());
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            Files.createDirectories(options.output().toAbsolutePath().getParent());
+            mapper.writeValue(options.output().toFile(), report);
+            System.out.println(mapper.writeValueAsString(report));
+            System.out.println("Written to " + options.output().toAbsolutePath());
+        }
+    }
+
+    private void seed(ProductService productService, CarService carService) {
+        for (int i = 0; i < options.products(); i++) {
+            Product product = new Product();
+            product.setProductName("Seed product " + i);
+            product.setProductQuantity(1 + i % 100);
+            productService.create(product);
+        }
+        for (int i = 0; i < options.cars(); i++) {
+            Car car = new Car();
+            car.setCarName("Seed car " + i);
+            car.setCarColor(i % 2 == 0 ? "Red" : "Blue");
+            car.setCarQuantity(1 + i % 20);
+            String carId = carService.create(car).getCarId();
+            if (i % 2 == 0 || options.mix().getOrDefault(Operation.CAR_DELETE, 0) == 0) {
+                editableCars.add(carId);
+            } else {
+                deletableCars.add(carId);
+            }
+        }
+    }
+
+    // Issues one request per tick of the schedule for the given time and returns the seconds it took until
+    // the last response arrived. A tick that comes round late is sent at once, never skipped.
+    private double run(Duration duration, Random random, LatencyRecorder recorder) {
+        long interval = 1_000_000_000L / options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += interval) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = schedule[random.nextInt(schedule.length)];
+                HttpRequest request = request(operation, random);
+                long intendedStart = intended;
+                clients.execute(() -> send(operation, request, intendedStart, recorder));
+            }
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private void send(Operation operation, HttpRequest request, long intendedStart, LatencyRecorder recorder) {
+        long sent = System.nanoTime();
+        boolean ok;
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            // Form posts answer with a redirect, which is not followed
+            ok = status < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+        recorder.record(operation, intendedStart, sent, System.nanoTime(), ok);
+    }
+
+    private HttpRequest request(Operation operation, Random random) {
+        return switch (operation) {
+            case PRODUCT_LIST -> HttpRequest.newBuilder(base.resolve("/product/list")).GET().build();
+            case PRODUCT_CREATE -> form("/product/create",
+                    "productName=Load+product+" + created++ + "&productQuantity=" + (1 + random.nextInt(100)));
+            case CAR_EDIT -> HttpRequest.newBuilder(
+                    base.resolve("/car/editCar/" + editableCars.get(random.nextInt(editableCars.size())))).GET().build();
+            // Once the set-aside cars run out, deletes name a missing id, which the endpoint accepts as a no-op
+            case CAR_DELETE -> {
+                String carId = deletableCars.poll();
+                yield form("/car/deleteCar", "carId=" + (carId == null ? "missing-" + random.nextInt() : carId));
+            }
+        };
+    }
+
+    private HttpRequest form(String path, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, Integer> mixByKey(Map<Operation, Integer> mix) {
+        Map<String, Integer> byKey = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> byKey.put(operation.key(), weight));
+        return byKey;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.eshop.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of the load test. Its own options are --rate (requests per second), --duration, --warmup,
+ * --products and --cars (rows seeded before the run), --mix (relative weights such as
+ * productList=40,carEdit=30), --seed and --output. Every other --name=value argument is handed to the
+ * application, so server settings such as --server.tomcat.threads.max=50 can be compared run against run.
+ */
+record LoadTestOptions(int rate, Duration duration, Duration warmup, int products, int cars,
+                       Map<Operation, Integer> mix, long seed, Path output, List<String> applicationArgs) {
+
+    static LoadTestOptions parse(String[] args) {
+        int rate = 200;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        int products = 10_000;
+        int cars = 10_000;
+        Map<Operation, Integer> mix = parseMix("productList=40,productCreate=20,carEdit=30,carDelete=10");
+        long seed = 42;
+        Path output = Path.of("build/results/loadtest/results.json");
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String value = arg.substring(equals + 1);
+            switch (arg.substring(2, equals)) {
+                case "rate" -> rate = Integer.parseInt(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "products" -> products = Integer.parseInt(value);
+                case "cars" -> cars = Integer.parseInt(value);
+                case "mix" -> mix = parseMix(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "output" -> output = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (rate < 1 || products < 1 || cars < 1) {
+            throw new IllegalArgumentException("Rate, products and cars must all be at least 1");
+        }
+        return new LoadTestOptions(rate, duration, warmup, products, cars, mix, seed, output, applicationArgs);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=", 2);
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.put(Operation.forKey(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
\ No newline at end of file
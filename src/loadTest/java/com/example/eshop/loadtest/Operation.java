@@ -0,0 +1,34 @@
+package com.example.eshop.loadtest;
+
+// The endpoints the workload mixes; key is the name used in --mix
+enum Operation {
+    PRODUCT_LIST("productList", "GET /product/list"),
+    PRODUCT_CREATE("productCreate", "POST /product/create"),
+    CAR_EDIT("carEdit", "GET /car/editCar/{carId}"),
+    CAR_DELETE("carDelete", "POST /car/deleteCar");
+
+    private final String key;
+    private final String label;
+
+    Operation(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation forKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + key);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.eshop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start benchmark for the packaging modes. Each run launches a fresh JVM and times it from process
+ * start to the first 200 from GET /product/list, which is what a new instance behind the load balancer
+ * has to reach before it takes traffic. Each mode adds one technique to the one before it:
+ *
+ * jar: the fat jar; extracted: the jar unpacked by the tools jar mode; lazy: plus the fast-start profile;
+ * cds: plus the AppCDS archive from the training run; aot: plus Spring AOT, only when built with -Paot.
+ *
+ * Run with ./gradlew startupBenchmark [-Paot] [-PstartupArgs="--runs=10"].
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_LIMIT = Duration.ofMinutes(2);
+
+    record Mode(String name, List<String> command) {
+    }
+
+    record Result(int runs, double minMs, double medianMs, double maxMs) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        String java = required(options, "java");
+        Path bootJar = Path.of(required(options, "bootJar")).toAbsolutePath();
+        Path fastStart = Path.of(required(options, "fastStart")).toAbsolutePath();
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Path output = Path.of(options.getOrDefault("output", "build/results/startup/results.json"));
+
+        Path extractedJar = fastStart.resolve(bootJar.getFileName());
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("jar", List.of(java, "-jar", bootJar.toString())));
+        modes.add(new Mode("extracted", List.of(java, "-jar", extractedJar.toString())));
+        modes.add(new Mode("lazy", List.of(java, "-jar", extractedJar.toString(),
+                "--spring.profiles.active=fast-start")));
+        String archive = "-XX:SharedArchiveFile=" + fastStart.resolve("eshop.jsa");
+        modes.add(new Mode("cds", List.of(java, archive, "-jar", extractedJar.toString(),
+                "--spring.profiles.active=fast-start")));
+        if (Boolean.parseBoolean(options.getOrDefault("aot", "false"))) {
+            modes.add(new Mode("aot", List.of(java, archive, "-Dspring.aot.enabled=true", "-jar",
+                    extractedJar.toString(), "--spring.profiles.active=fast-start")));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Mode mode : modes) {
+            double[] millis = new double[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstList(mode, client) / 1e6;
+                System.out.printf("%-10s run %d: %.0f ms%n", mode.name(), run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            results.put(mode.name(), new Result(runs, round(millis[0]), round(millis[runs / 2]),
+                    round(millis[runs - 1])));
+        }
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        mapper.writeValue(output.toFile(), results);
+        System.out.println(mapper.writeValueAsString(results));
+        System.out.println("Written to " + output.toAbsolutePath());
+    }
+
+    // Nanoseconds from launching the JVM to the first successful product list
+    private static long timeToFirstList(Mode mode, HttpClient client) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/product/list"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < STARTUP_LIMIT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue()
+                            + " before serving: " + String.join(" ", command));
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return System.nanoTime() - start;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(mode.name() + " did not serve /product/list within " + STARTUP_LIMIT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.eshop;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+// With spring.main.lazy-initialization=true (the fast-start profile) beans are created on first use, except
+// the stores and everything that has to see their writes from the start: search indexes, change rings, cache
+// invalidation and the hold timer register themselves as listeners only when they are created.
+@Configuration
+public class FastStartConfiguration {
+
+    private static final Set<String> EAGER_PACKAGES = Set.of(
+            "com.example.eshop.repository",
+            "com.example.eshop.repository.persistence",
+            "com.example.eshop.repository.jdbc",
+            "com.example.eshop.search",
+            "com.example.eshop.events",
+            "com.example.eshop.cache",
+            "com.example.eshop.timing");
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStoreBeans() {
+        return (beanName, definition, beanType) -> beanType != null
+                && EAGER_PACKAGES.contains(beanType.getPackageName());
+    }
+}
\ No newline at end of file
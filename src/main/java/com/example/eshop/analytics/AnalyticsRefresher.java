@@ -0,0 +1,53 @@
+package com.example.eshop.analytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Rescans the inventory once per refresh interval on its own thread, so AnalyticsService.latest stays current
+@Component
+public class AnalyticsRefresher implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRefresher.class);
+
+    private final AnalyticsService analyticsService;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public AnalyticsRefresher(AnalyticsService analyticsService,
+                              @Value("${eshop.analytics.refresh-interval:1s}") Duration refreshInterval) {
+        this.analyticsService = analyticsService;
+        this.intervalMillis = Math.max(1, refreshInterval.toMillis());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("analytics-refresh").factory());
+    }
+
+    // Scanning from another thread while the context is still wiring the repositories would race their proxies
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshQuietly() {
+        try {
+            analyticsService.refresh();
+        } catch (RuntimeException e) {
+            // The home page keeps the previous figures; the next run tries again
+            log.warn("Inventory analytics refresh failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
\ No newline at end of file
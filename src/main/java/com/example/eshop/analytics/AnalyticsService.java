@@ -0,0 +1,141 @@
+package com.example.eshop.analytics;
+
+import com.example.eshop.cache.SingleFlight;
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+/**
+ * Inventory figures over every product and car: units overall and per car color, the products with the
+ * most stock and how quantities are spread. Each pass is a parallel stream over the store's own
+ * spliterator, folding rows into primitive per-thread tallies that are merged once at the end.
+ *
+ * The scan takes no locks. Both repository versions are read before it and checked after; if either moved,
+ * the scan is repeated, so a result marked consistent describes the stores as they were at those versions.
+ * A result is reused while both versions are unchanged or it is younger than the refresh interval, and
+ * concurrent requests for a new one share a single scan. Pages that must not wait on a scan read latest,
+ * which AnalyticsRefresher keeps current in the background.
+ */
+@Service
+public class AnalyticsService {
+
+    public static final int MAX_TOP = 100;
+    private static final int ATTEMPTS = 3;
+    private static final String UNSPECIFIED_COLOR = "unspecified";
+
+    private final ProductRepositoryInterface productRepository;
+    private final CarRepositoryInterface carRepository;
+    private final Duration refreshInterval;
+    private final SingleFlight<String, InventoryAnalytics> scans = new SingleFlight<>();
+    private volatile InventoryAnalytics latest;
+
+    public AnalyticsService(ProductRepositoryInterface productRepository, CarRepositoryInterface carRepository,
+                            @Value("${eshop.analytics.refresh-interval:1s}") Duration refreshInterval) {
+        this.productRepository = productRepository;
+        this.carRepository = carRepository;
+        this.refreshInterval = refreshInterval;
+    }
+
+    public InventoryAnalytics inventory(int top) {
+        return refresh().withTop(Math.clamp(top, 1, MAX_TOP));
+    }
+
+    // The last result without scanning, however old; null until the first scan finishes
+    public InventoryAnalytics latest(int top) {
+        InventoryAnalytics current = latest;
+        return current == null ? null : current.withTop(Math.clamp(top, 1, MAX_TOP));
+    }
+
+    InventoryAnalytics refresh() {
+        InventoryAnalytics current = latest;
+        if (current == null || !reusable(current)) {
+            current = scans.load("inventory", key -> compute());
+        }
+        return current;
+    }
+
+    private boolean reusable(InventoryAnalytics analytics) {
+        if (analytics.computedAt().plus(refreshInterval).isAfter(Instant.now())) {
+            return true;
+        }
+        return analytics.consistent()
+                && analytics.productVersion() == productRepository.version()
+                && analytics.carVersion() == carRepository.version();
+    }
+
+    private InventoryAnalytics compute() {
+        InventoryAnalytics analytics = null;
+        for (int attempt = 0; attempt < ATTEMPTS && (analytics == null || !analytics.consistent()); attempt++) {
+            analytics = scan();
+        }
+        latest = analytics;
+        return analytics;
+    }
+
+    private InventoryAnalytics scan() {
+        long productVersion = productRepository.version();
+        long carVersion = carRepository.version();
+        ProductTally products = StreamSupport.stream(productRepository.spliterator(), true)
+                .collect(ProductTally::new, ProductTally::add, ProductTally::merge);
+        CarTally cars = StreamSupport.stream(carRepository.spliterator(), true)
+                .collect(CarTally::new, CarTally::add, CarTally::merge);
+        boolean consistent = productVersion == productRepository.version() && carVersion == carRepository.version();
+
+        InventoryAnalytics.Totals productTotals = products.quantities.totals();
+        InventoryAnalytics.Totals carTotals = cars.quantities.totals();
+        return new InventoryAnalytics(Instant.now(), consistent, productVersion, carVersion,
+                productTotals.units() + carTotals.units(), productTotals, carTotals, cars.byColor(),
+                products.top.sorted(), products.quantities.histogram(), cars.quantities.histogram());
+    }
+
+    private static final class ProductTally {
+        private final QuantityTally quantities = new QuantityTally();
+        private final TopQuantities<Product> top = new TopQuantities<>(MAX_TOP);
+
+        private void add(Product product) {
+            quantities.add(product.getProductQuantity());
+            top.offer(product.getProductQuantity(), product.getProductId(), product);
+        }
+
+        private void merge(ProductTally other) {
+            quantities.merge(other.quantities);
+            top.merge(other.top);
+        }
+    }
+
+    private static final class CarTally {
+        private final QuantityTally quantities = new QuantityTally();
+        // Per color: units, in a mutable cell so adding a row does not box
+        private final Map<String, long[]> units = new HashMap<>();
+
+        private void add(Car car) {
+            quantities.add(car.getCarQuantity());
+            String color = car.getCarColor() == null ? UNSPECIFIED_COLOR : car.getCarColor();
+            units.computeIfAbsent(color, key -> new long[1])[0] += car.getCarQuantity();
+        }
+
+        private void merge(CarTally other) {
+            quantities.merge(other.quantities);
+            other.units.forEach((color, cell) -> units.computeIfAbsent(color, key -> new long[1])[0] += cell[0]);
+        }
+
+        // Most units first
+        private Map<String, Long> byColor() {
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            units.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()[0]));
+            return sorted;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.eshop.analytics;
+
+import com.example.eshop.model.Product;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+// consistent is false when rows kept changing under every attempt to scan them; the figures then mix
+// rows from before and after those writes
+public record InventoryAnalytics(Instant computedAt, boolean consistent, long productVersion, long carVersion,
+                                 long totalUnits, Totals products, Totals cars, Map<String, Long> carUnitsByColor,
+                                 List<Product> topProducts, List<Bucket> productQuantities,
+                                 List<Bucket> carQuantities) {
+
+    public record Totals(long rows, long units) {
+    }
+
+    // Rows whose quantity falls in range, and the units they hold
+    public record Bucket(String range, long rows, long units) {
+    }
+
+    public InventoryAnalytics withTop(int top) {
+        if (top >= topProducts.size()) {
+            return this;
+        }
+        return new InventoryAnalytics(computedAt, consistent, productVersion, carVersion, totalUnits, products, cars,
+                carUnitsByColor, topProducts.subList(0, top), productQuantities, carQuantities);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.eshop.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Row and unit counts, overall and per power-of-two quantity bucket, kept in primitive arrays so a
+// parallel scan adds rows without boxing. Bucket 0 holds quantities of zero or less; bucket k holds
+// quantities from 2^(k-1) to 2^k - 1.
+final class QuantityTally {
+
+    private static final int BUCKETS = 32;
+
+    private final long[] bucketRows = new long[BUCKETS];
+    private final long[] bucketUnits = new long[BUCKETS];
+    private long rows;
+    private long units;
+
+    void add(int quantity) {
+        int bucket = quantity <= 0 ? 0 : BUCKETS - Integer.numberOfLeadingZeros(quantity);
+        bucketRows[bucket]++;
+        bucketUnits[bucket] += quantity;
+        rows++;
+        units += quantity;
+    }
+
+    void merge(QuantityTally other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketRows[i] += other.bucketRows[i];
+            bucketUnits[i] += other.bucketUnits[i];
+        }
+        rows += other.rows;
+        units += other.units;
+    }
+
+    InventoryAnalytics.Totals totals() {
+        return new InventoryAnalytics.Totals(rows, units);
+    }
+
+    // Only the buckets that hold rows, smallest quantities first
+    List<InventoryAnalytics.Bucket> histogram() {
+        List<InventoryAnalytics.Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (bucketRows[i] > 0) {
+                buckets.add(new InventoryAnalytics.Bucket(range(i), bucketRows[i], bucketUnits[i]));
+            }
+        }
+        return buckets;
+    }
+
+    private static String range(int bucket) {
+        if (bucket == 0) {
+            return "<=0";
+        }
+        long from = 1L << (bucket - 1);
+        long to = (1L << bucket) - 1;
+        return from == to ? Long.toString(from) : from + "-" + to;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.example.eshop.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// The capacity rows with the highest quantity, as a bounded min-heap over a primitive quantity array so
+// most rows cost one int comparison against the root. Ties go to the smaller id, which keeps the result
+// the same however a parallel scan splits the rows.
+final class TopQuantities<T> {
+
+    private final int capacity;
+    private final int[] quantities;
+    private final String[] ids;
+    private final Object[] items;
+    private int size;
+
+    TopQuantities(int capacity) {
+        this.capacity = capacity;
+        this.quantities = new int[capacity];
+        this.ids = new String[capacity];
+        this.items = new Object[capacity];
+    }
+
+    void offer(int quantity, String id, T item) {
+        if (size < capacity) {
+            set(size, quantity, id, item);
+            siftUp(size++);
+        } else if (capacity > 0 && ranksAbove(quantity, id, 0)) {
+            set(0, quantity, id, item);
+            siftDown(0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void merge(TopQuantities<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.quantities[i], other.ids[i], (T) other.items[i]);
+        }
+    }
+
+    // Highest quantity first
+    @SuppressWarnings("unchecked")
+    List<T> sorted() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> ranksAbove(quantities[a], ids[a], b) ? -1 : 1);
+        List<T> result = new ArrayList<>(size);
+        for (int index : order) {
+            result.add((T) items[index]);
+        }
+        return result;
+    }
+
+    private boolean ranksAbove(int quantity, String id, int slot) {
+        return quantity > quantities[slot] || quantity == quantities[slot] && id.compareTo(ids[slot]) < 0;
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!ranksAbove(quantities[parent], ids[parent], slot)) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int lowest = slot;
+            int left = 2 * slot + 1;
+            int right = left + 1;
+            if (left < size && ranksAbove(quantities[lowest], ids[lowest], left)) {
+                lowest = left;
+            }
+            if (right < size && ranksAbove(quantities[lowest], ids[lowest], right)) {
+                lowest = right;
+            }
+            if (lowest == slot) {
+                return;
+            }
+            swap(slot, lowest);
+            slot = lowest;
+        }
+    }
+
+    private void set(int slot, int quantity, String id, T item) {
+        quantities[slot] = quantity;
+        ids[slot] = id;
+        items[slot] = item;
+    }
+
+    private void swap(int a, int b) {
+        int quantity = quantities[a];
+        String id = ids[a];
+        Object item = items[a];
+        quantities[a] = quantities[b];
+        ids[a] = ids[b];
+        items[a] = items[b];
+        quantities[b] = quantity;
+        ids[b] = id;
+        items[b] = item;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.example.eshop.bulk;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Configuration
+public class BulkConfiguration {
+
+    @Bean
+    public BulkImporter<Product> productImporter(ObjectMapper objectMapper, Validator validator,
+                                                 @Value("${eshop.import.batch-size:1000}") int batchSize) {
+        return new BulkImporter<>(Product.class, Product::getProductId, objectMapper, validator, batchSize);
+    }
+
+    @Bean
+    public BulkImporter<Car> carImporter(ObjectMapper objectMapper, Validator validator,
+                                         @Value("${eshop.import.batch-size:1000}") int batchSize) {
+        return new BulkImporter<>(Car.class, Car::getCarId, objectMapper, validator, batchSize);
+    }
+
+    @Bean
+    public BulkExporter<Product> productExporter(ObjectMapper objectMapper) {
+        Map<String, Function<Product, ?>> columns = new LinkedHashMap<>();
+        columns.put("productId", Product::getProductId);
+        columns.put("productName", Product::getProductName);
+        columns.put("productQuantity", Product::getProductQuantity);
+        return new BulkExporter<>(Product.class, objectMapper, columns);
+    }
+
+    @Bean
+    public BulkExporter<Car> carExporter(ObjectMapper objectMapper) {
+        Map<String, Function<Car, ?>> columns = new LinkedHashMap<>();
+        columns.put("carId", Car::getCarId);
+        columns.put("carName", Car::getCarName);
+        columns.put("carColor", Car::getCarColor);
+        columns.put("carQuantity", Car::getCarQuantity);
+        return new BulkExporter<>(Car.class, objectMapper, columns);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.example.eshop.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes a full dump as CSV or NDJSON straight to an output stream. Rows are pulled one at a time from the
+ * repository iterator and encoded into one reused buffer that is handed to the stream as it fills, so heap
+ * use stays flat whatever the size of the catalog. CSV columns carry the import header names, so an export
+ * can be imported back as it is.
+ *
+ * Text that a spreadsheet would evaluate as a formula, anything starting with =, +, -, @, tab or carriage
+ * return other than a plain number, is written with a leading quote. A value that already starts with
+ * quotes before one of those gets one more. The importer takes exactly one off, so the round trip is exact.
+ */
+public class BulkExporter<T> {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter rowWriter;
+    private final List<String> columnNames;
+    private final List<Function<T, ?>> columnValues;
+
+    // columns maps each CSV header name to its value, in iteration order
+    public BulkExporter(Class<T> type, ObjectMapper mapper, Map<String, Function<T, ?>> columns) {
+        this.mapper = mapper;
+        // Flushing after every row would push each one to the socket on its own
+        this.rowWriter = mapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.columnNames = List.copyOf(columns.keySet());
+        this.columnValues = new ArrayList<>(columns.values());
+    }
+
+    // Returns the number of rows written; the stream is flushed but left open
+    public long write(Iterator<T> rows, OutputStream out, BulkFormat format) throws IOException {
+        return format == BulkFormat.CSV ? writeCsv(rows, out) : writeNdjson(rows, out);
+    }
+
+    // Copies a whole file with FileChannel.transferTo. Only a file or socket channel target gets the kernel's
+    // zero-copy path; any other channel falls back to copying through a buffer.
+    public static long transfer(FileChannel source, WritableByteChannel target) throws IOException {
+        long size = source.size();
+        long position = 0;
+        while (position < size) {
+            position += source.transferTo(position, size - position, target);
+        }
+        return position;
+    }
+
+    // A servlet response is a stream, not a channel, so this is an ordinary buffered copy through the heap
+    public static long transfer(FileChannel source, OutputStream out) throws IOException {
+        long copied = transfer(source, Channels.newChannel(out));
+        out.flush();
+        return copied;
+    }
+
+    private long writeNdjson(Iterator<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = mapper.getFactory().createGenerator(new BufferedOutputStream(out, BUFFER_BYTES));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            rowWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.close();
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_BYTES);
+        for (int i = 0; i < columnNames.size(); i++) {
+            writeField(writer, i, columnNames.get(i));
+        }
+        writer.write('\n');
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columnValues.size(); i++) {
+                Object value = columnValues.get(i).apply(row);
+                writeField(writer, i, value == null ? "" : guardFormula(value.toString()));
+            }
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String guardFormula(String value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) == '\'') {
+            start++;
+        }
+        if (start == value.length() || !CsvReader.isFormulaStart(value.charAt(start))
+                || start == 0 && isNumber(value)) {
+            return value;
+        }
+        return "'" + value;
+    }
+
+    // A sign, then digits with at most one decimal point
+    private static boolean isNumber(String value) {
+        boolean digits = false;
+        boolean point = false;
+        for (int i = 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits && (value.charAt(0) == '-' || value.charAt(0) == '+');
+    }
+
+    // Quotes only the fields that need it, doubling any quotes inside
+    private static void writeField(Writer writer, int column, String value) throws IOException {
+        if (column > 0) {
+            writer.write(',');
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.eshop.bulk;
+
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+// Text formats for bulk import and export
+public enum BulkFormat {
+    // Comma-separated with a header row naming the fields
+    CSV("text/csv", "csv"),
+    // One JSON object per line
+    NDJSON("application/x-ndjson", "ndjson");
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final String mediaType;
+    private final String extension;
+
+    BulkFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static BulkFormat forMediaType(MediaType mediaType) {
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))) {
+            return NDJSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import format " + mediaType);
+    }
+
+    // Matches the file extension, in any case; null when there is no such format
+    public static BulkFormat forName(String name) {
+        for (BulkFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    // Decodes an upload in the charset it declares, UTF-8 when it declares none
+    public static BufferedReader open(InputStream body, MediaType mediaType) {
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(body, charset), 1 << 16);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,229 @@
+package com.example.eshop.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Streams rows out of a CSV or NDJSON upload and hands them to a sink in batches. Splitting the input into
+ * records is sequential, but binding and bean validation of a batch run in parallel, and only one batch
+ * plus a bounded error list is held at a time, so memory stays flat however long the upload is.
+ *
+ * Unless the caller opts into overwriting, a row whose id is already stored is rejected rather than replacing
+ * the stored row. Earlier batches are stored by the time a later one is checked, so only ids within the
+ * current batch are remembered.
+ */
+public class BulkImporter<T> {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final Function<T, String> idOf;
+    private final ObjectReader binder;
+    private final ObjectMapper mapper;
+    private final Validator validator;
+    private final int batchSize;
+
+    public BulkImporter(Class<T> type, Function<T, String> idOf, ObjectMapper mapper, Validator validator,
+                        int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.idOf = idOf;
+        this.binder = mapper.readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.mapper = mapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    // One input record before binding: CSV fields under their header or a JSON line, and where it came from
+    private static final class Record<T> {
+        private final long line;
+        private final List<String> header;
+        private final List<String> fields;
+        private final String json;
+        private T item;
+        private String error;
+
+        private Record(long line, List<String> header, List<String> fields, String json) {
+            this.line = line;
+            this.header = header;
+            this.fields = fields;
+            this.json = json;
+        }
+    }
+
+    private final class Run {
+        private final Predicate<String> existing;
+        private final Consumer<List<T>> sink;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private final Set<String> batchIds = new HashSet<>();
+        private long imported;
+        private long rejected;
+
+        private Run(Predicate<String> existing, Consumer<List<T>> sink) {
+            this.existing = existing;
+            this.sink = sink;
+        }
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        private void flush(List<Record<T>> batch) {
+            batch.parallelStream().forEach(BulkImporter.this::bind);
+            List<T> valid = new ArrayList<>(batch.size());
+            for (Record<T> record : batch) {
+                if (record.error == null) {
+                    record.error = checkId(record.item);
+                }
+                if (record.error != null) {
+                    reject(record.line, record.error);
+                } else {
+                    valid.add(record.item);
+                }
+            }
+            if (!valid.isEmpty()) {
+                sink.accept(valid);
+                imported += valid.size();
+            }
+            batch.clear();
+            batchIds.clear();
+        }
+
+        // Rows without an id get a fresh one when stored, so only explicit ids can collide
+        private String checkId(T item) {
+            String id = existing == null ? null : idOf.apply(item);
+            if (id == null || id.isEmpty()) {
+                return null;
+            }
+            if (!batchIds.add(id)) {
+                return "Id " + id + " repeats an earlier row";
+            }
+            return existing.test(id) ? "Id " + id + " already exists" : null;
+        }
+
+        private ImportReport report() {
+            return new ImportReport(imported, rejected, List.copyOf(errors));
+        }
+    }
+
+    // Rows replace any stored row with the same id
+    public ImportReport run(Reader input, BulkFormat format, Consumer<List<T>> sink) throws IOException {
+        return run(input, format, null, sink);
+    }
+
+    // Rows whose id is existing, or repeats an earlier row, are rejected; null allows overwriting
+    public ImportReport run(Reader input, BulkFormat format, Predicate<String> existing,
+                            Consumer<List<T>> sink) throws IOException {
+        Run run = new Run(existing, sink);
+        List<Record<T>> batch = new ArrayList<>(batchSize);
+        if (format == BulkFormat.CSV) {
+            readCsv(input, run, batch);
+        } else {
+            readNdjson(input, run, batch);
+        }
+        run.flush(batch);
+        return run.report();
+    }
+
+    private void readCsv(Reader input, Run run, List<Record<T>> batch) throws IOException {
+        CsvReader reader = new CsvReader(input);
+        List<String> header = reader.next();
+        if (header == null) {
+            return;
+        }
+        while (true) {
+            List<String> fields;
+            try {
+                fields = reader.next();
+            } catch (IllegalArgumentException e) {
+                // Only an unterminated quote gets here, and it has consumed the rest of the input
+                Record<T> record = new Record<>(reader.recordLine(), header, null, null);
+                record.error = e.getMessage();
+                batch.add(record);
+                return;
+            }
+            if (fields == null) {
+                return;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            Record<T> record = new Record<>(reader.recordLine(), header, fields, null);
+            if (fields.size() != header.size()) {
+                // Kept in the batch so the report stays in line order
+                record.error = "Expected " + header.size() + " fields but found " + fields.size();
+            }
+            batch.add(record);
+            if (batch.size() == batchSize) {
+                run.flush(batch);
+            }
+        }
+    }
+
+    private void readNdjson(Reader input, Run run, List<Record<T>> batch) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input);
+        long line = 0;
+        for (String json = reader.readLine(); json != null; json = reader.readLine()) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            batch.add(new Record<>(line, null, null, json));
+            if (batch.size() == batchSize) {
+                run.flush(batch);
+            }
+        }
+    }
+
+    private void bind(Record<T> record) {
+        if (record.error != null) {
+            return;
+        }
+        try {
+            T item;
+            if (record.fields != null) {
+                ObjectNode node = mapper.createObjectNode();
+                for (int i = 0; i < record.header.size(); i++) {
+                    node.put(record.header.get(i).trim(), CsvReader.unguardFormula(record.fields.get(i)));
+                }
+                item = binder.readValue(node);
+            } else {
+                item = binder.readValue(record.json);
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(item);
+            if (violations.isEmpty()) {
+                record.item = item;
+            } else {
+                record.error = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+        } catch (JsonProcessingException e) {
+            record.error = e.getOriginalMessage();
+        } catch (IOException e) {
+            record.error = e.getMessage();
+        }
+    }
+}
\ No newline at end of file
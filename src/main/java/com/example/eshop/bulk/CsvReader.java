@@ -0,0 +1,79 @@
+package com.example.eshop.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Incremental RFC 4180 reader: quoted fields may hold commas, doubled quotes and line breaks
+final class CsvReader {
+
+    private final Reader in;
+    private long line = 1;
+    private long recordLine;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    // The export puts a quote before text a spreadsheet would evaluate as a formula; this removes it again
+    static String unguardFormula(String field) {
+        int start = 0;
+        while (start < field.length() && field.charAt(start) == '\'') {
+            start++;
+        }
+        return start > 0 && start < field.length() && isFormulaStart(field.charAt(start)) ? field.substring(1) : field;
+    }
+
+    static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    // Line on which the record last returned by next started
+    long recordLine() {
+        return recordLine;
+    }
+
+    // The next record's fields, or null at the end of the input
+    List<String> next() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.eshop.bulk;
+
+import java.util.List;
+
+// rejected counts every bad row; errors lists at most the first BulkImporter.MAX_REPORTED_ERRORS of them
+public record ImportReport(long imported, long rejected, List<RowError> errors) {
+
+    public record RowError(long line, String message) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.eshop.cache;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import com.example.eshop.service.CarServiceImpl;
+import com.example.eshop.service.ProductServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    // An in-memory read is cheaper than coalescing it, so lookups are only shared when rows come from the
+    // database; with a cache in front, that is each miss
+    @Bean
+    @Profile("jdbc")
+    public SingleFlight<String, Product> productLookups(ProductRepositoryInterface productRepository,
+                                                        MeterRegistry registry) {
+        SingleFlight<String, Product> lookups = new SingleFlight<>();
+        productRepository.addListener(new CacheInvalidation<>(lookups::forget));
+        registerCoalesced(lookups, "product", registry);
+        return lookups;
+    }
+
+    @Bean
+    @Profile("jdbc")
+    public SingleFlight<String, Car> carLookups(CarRepositoryInterface carRepository, MeterRegistry registry) {
+        SingleFlight<String, Car> lookups = new SingleFlight<>();
+        carRepository.addListener(new CacheInvalidation<>(lookups::forget));
+        registerCoalesced(lookups, "car", registry);
+        return lookups;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "eshop.cache.product.enabled", havingValue = "true")
+    public CachingProductService cachingProductService(ProductServiceImpl productService,
+                                                       ProductRepositoryInterface productRepository,
+                                                       CacheProperties properties, MeterRegistry registry) {
+        TinyLfuCache<String, Product> cache = register(
+                new TinyLfuCache<>("product", properties.product().maximumSize()), registry);
+        productRepository.addListener(new CacheInvalidation<>(cache::invalidate));
+        return new CachingProductService(productService, cache);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "eshop.cache.car.enabled", havingValue = "true")
+    public CachingCarService cachingCarService(CarServiceImpl carService, CarRepositoryInterface carRepository,
+                                               CacheProperties properties, MeterRegistry registry) {
+        TinyLfuCache<String, Car> cache = register(
+                new TinyLfuCache<>("car", properties.car().maximumSize()), registry);
+        carRepository.addListener(new CacheInvalidation<>(cache::invalidate));
+        return new CachingCarService(carService, cache);
+    }
+
+    private static void registerCoalesced(SingleFlight<String, ?> lookups, String name, MeterRegistry registry) {
+        FunctionCounter.builder("eshop.lookups.coalesced", lookups, SingleFlight::coalesced)
+                .tag("entity", name)
+                .register(registry);
+    }
+
+    private static <V> TinyLfuCache<String, V> register(TinyLfuCache<String, V> cache, MeterRegistry registry) {
+        FunctionCounter.builder("eshop.cache.requests", cache, c -> c.stats().hits())
+                .tags("cache", cache.name(), "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("eshop.cache.requests", cache, c -> c.stats().misses())
+                .tags("cache", cache.name(), "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("eshop.cache.evictions", cache, c -> c.stats().evictions())
+                .tag("cache", cache.name())
+                .register(registry);
+        Gauge.builder("eshop.cache.size", cache, TinyLfuCache::size)
+                .tag("cache", cache.name())
+                .register(registry);
+        return cache;
+    }
+}
\ No newline at end of file
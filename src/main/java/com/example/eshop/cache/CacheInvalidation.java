@@ -0,0 +1,33 @@
+package com.example.eshop.cache;
+
+import com.example.eshop.repository.StoreListener;
+
+import java.util.function.Consumer;
+
+// Forgets an id while the repository still holds its row lock, and again once the write is visible. A reader
+// that does not wait for the row lock can still load the old row between the two and cache it; the second
+// invalidation drops that entry, so no read after the write returns sees the old row. New rows count too:
+// a lookup that started before the insert may be holding a miss.
+class CacheInvalidation<T> implements StoreListener<T> {
+
+    private final Consumer<String> invalidator;
+
+    CacheInvalidation(Consumer<String> invalidator) {
+        this.invalidator = invalidator;
+    }
+
+    @Override
+    public void onSave(String id, T previous, T current) {
+        invalidator.accept(id);
+    }
+
+    @Override
+    public void onDelete(String id, T previous) {
+        invalidator.accept(id);
+    }
+
+    @Override
+    public void onCommitted(String id) {
+        invalidator.accept(id);
+    }
+}
\ No newline at end of file
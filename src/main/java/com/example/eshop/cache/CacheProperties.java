@@ -0,0 +1,11 @@
+package com.example.eshop.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "eshop.cache")
+public record CacheProperties(@DefaultValue Entity product, @DefaultValue Entity car) {
+
+    public record Entity(boolean enabled, @DefaultValue("10000") long maximumSize) {
+    }
+}
\ No newline at end of file
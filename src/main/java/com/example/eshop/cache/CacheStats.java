@@ -0,0 +1,9 @@
+package com.example.eshop.cache;
+
+public record CacheStats(long hits, long misses, long evictions, long size) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+}
\ No newline at end of file
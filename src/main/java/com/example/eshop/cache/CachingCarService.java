@@ -0,0 +1,115 @@
+package com.example.eshop.cache;
+
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.ImportReport;
+import com.example.eshop.model.Car;
+import com.example.eshop.repository.Page;
+import com.example.eshop.service.CarHold;
+import com.example.eshop.service.CarService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.List;
+
+// Serves findById through the cache and passes everything else straight to the real service
+public class CachingCarService implements CarService {
+
+    private final CarService delegate;
+    private final TinyLfuCache<String, Car> cache;
+
+    public CachingCarService(CarService delegate, TinyLfuCache<String, Car> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Car findById(String carId) {
+        if (carId == null) {
+            return delegate.findById(null);
+        }
+        return cache.get(carId, delegate::findById);
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    @Override
+    public long versionOf(String carId) {
+        return delegate.versionOf(carId);
+    }
+
+    @Override
+    public Car create(Car car) {
+        return delegate.create(car);
+    }
+
+    @Override
+    public ImportReport importCars(Reader input, BulkFormat format, boolean overwrite) throws IOException {
+        return delegate.importCars(input, format, overwrite);
+    }
+
+    @Override
+    public long exportCars(OutputStream out, BulkFormat format) throws IOException {
+        return delegate.exportCars(out, format);
+    }
+
+    @Override
+    public FileChannel openCarSnapshot() throws IOException {
+        return delegate.openCarSnapshot();
+    }
+
+    @Override
+    public List<Car> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Iterator<Car> iterateAll() {
+        return delegate.iterateAll();
+    }
+
+    @Override
+    public Page<Car> findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Car> search(String query, int limit) {
+        return delegate.search(query, limit);
+    }
+
+    @Override
+    public List<Car> findLowStock(int below, int limit) {
+        return delegate.findLowStock(below, limit);
+    }
+
+    @Override
+    public void update(String carId, Car car) {
+        delegate.update(carId, car);
+    }
+
+    @Override
+    public void deleteCarById(String carId) {
+        delegate.deleteCarById(carId);
+    }
+
+    @Override
+    public CarHold hold(String carId, int quantity) {
+        return delegate.hold(carId, quantity);
+    }
+
+    @Override
+    public boolean confirm(String holdId) {
+        return delegate.confirm(holdId);
+    }
+
+    @Override
+    public boolean cancel(String holdId) {
+        return delegate.cancel(holdId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.example.eshop.cache;
+
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.ImportReport;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
+import com.example.eshop.service.ProductService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.List;
+
+// Serves findById through the cache and passes everything else straight to the real service
+public class CachingProductService implements ProductService {
+
+    private final ProductService delegate;
+    private final TinyLfuCache<String, Product> cache;
+
+    public CachingProductService(ProductService delegate, TinyLfuCache<String, Product> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Product findById(String productId) {
+        if (productId == null) {
+            return delegate.findById(null);
+        }
+        return cache.get(productId, delegate::findById);
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    @Override
+    public long versionOf(String productId) {
+        return delegate.versionOf(productId);
+    }
+
+    @Override
+    public Product create(Product product) {
+        return delegate.create(product);
+    }
+
+    @Override
+    public ImportReport importProducts(Reader input, BulkFormat format, boolean overwrite) throws IOException {
+        return delegate.importProducts(input, format, overwrite);
+    }
+
+    @Override
+    public long exportProducts(OutputStream out, BulkFormat format) throws IOException {
+        return delegate.exportProducts(out, format);
+    }
+
+    @Override
+    public FileChannel openProductSnapshot() throws IOException {
+        return delegate.openProductSnapshot();
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Iterator<Product> iterateAll() {
+        return delegate.iterateAll();
+    }
+
+    @Override
+    public Page<Product> findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Product> search(String query, int limit) {
+        return delegate.search(query, limit);
+    }
+
+    @Override
+    public List<Product> findLowStock(int below, int limit) {
+        return delegate.findLowStock(below, limit);
+    }
+
+    @Override
+    public Product update(Product product) {
+        return delegate.update(product);
+    }
+
+    @Override
+    public boolean reserve(String productId, int quantity) {
+        return delegate.reserve(productId, quantity);
+    }
+
+    @Override
+    public boolean release(String productId, int quantity) {
+        return delegate.release(productId, quantity);
+    }
+
+    @Override
+    public void deleteById(String productId) {
+        delegate.deleteById(productId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.eshop.cache;
+
+// Count-min sketch of 4-bit counters estimating how often each key was seen recently. Counters are halved
+// once the sample fills up, so old popularity fades. Not thread-safe; the cache calls it under its lock.
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long maximumSize) {
+        int size = Integer.highestOneBit((int) Math.clamp(maximumSize, 8, 1 << 30) - 1) << 1;
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, (int) (table[indexOf(hash, i)] >>> shiftOf(hash, i)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            int shift = shiftOf(hash, i);
+            if (((table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    // Each hash function picks one of the 16 counters packed in its long
+    private static int shiftOf(int hash, int i) {
+        return ((hash >>> (i << 3)) & 15) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash = (hash ^ (hash >>> 16)) * 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.eshop.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader and everyone who asks for
+ * that key while it runs waits for the same result instead of starting a load of their own. Nothing is
+ * kept once the load finishes, so a failure reaches the callers already waiting and no one after them.
+ *
+ * A caller that joins a load which started before a write could see the row as it was before that write.
+ * forget(key) detaches the running load so later callers start a fresh one; it is wired to the repository's
+ * change listener for exactly that reason.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        try {
+            V value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    // Callers that shared another caller's load instead of running their own
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Waiters see the loader's own exception, as its caller does
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.example.eshop.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Size-bounded read-through cache with W-TinyLFU eviction. New entries land in a small LRU window; an entry
+ * leaving the window only enters the main segmented LRU if the frequency sketch says it is more popular
+ * than the main region's next victim, so one-off scans cannot flush the hot set. Reads are lock-free
+ * lookups that record their access only if the policy lock is free at that moment.
+ *
+ * Loads race with invalidations: a load that started before an invalidation of its key may return the old
+ * row. Every invalidation bumps a per-stripe epoch, and a loaded value is only stored if its stripe's epoch
+ * did not move while it was loading. That cannot catch a load that reads the old row after the invalidation
+ * but before the write is visible, which is why CacheInvalidation invalidates again once the write commits.
+ */
+public class TinyLfuCache<K, V> {
+
+    private static final int EPOCH_STRIPES = 1024;
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private int queue;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    // Intrusive LRU list: least recently used at the head
+    private static final class AccessQueue<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private long size;
+
+        private void addLast(Node<K, V> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        private void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        private void moveToTail(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    private final String name;
+    private final long maximumSize;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TinyLfuCache(String name, long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache " + name + " needs a maximum size of at least 1");
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 8 / 10;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (policyLock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    // Returns the cached value or loads it; null results are passed through and never cached
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripeOf(key);
+        long epoch = epochs.get(stripe);
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        policyLock.lock();
+        try {
+            if (epochs.get(stripe) == epoch && !data.containsKey(key)) {
+                insert(key, loaded);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        policyLock.lock();
+        try {
+            epochs.incrementAndGet(stripeOf(key));
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                queueOf(node).remove(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), data.size());
+    }
+
+    public long size() {
+        return data.size();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (data.get(node.key) != node) {
+            return;
+        }
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW -> window.moveToTail(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                if (protectedQueue.size > protectedMaximum) {
+                    Node<K, V> demoted = protectedQueue.head;
+                    protectedQueue.remove(demoted);
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+            default -> protectedQueue.moveToTail(node);
+        }
+    }
+
+    private void insert(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        sketch.increment(key);
+        data.put(key, node);
+        node.queue = WINDOW;
+        window.addLast(node);
+        if (window.size <= windowMaximum) {
+            return;
+        }
+        Node<K, V> candidate = window.head;
+        window.remove(candidate);
+        candidate.queue = PROBATION;
+        probation.addLast(candidate);
+        if (data.size() <= maximumSize) {
+            return;
+        }
+        // Admission: the window's evictee competes with the main region's least recently used entry
+        Node<K, V> victim = probation.head != candidate ? probation.head : protectedQueue.head;
+        if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            evict(victim);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        queueOf(node).remove(node);
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    private AccessQueue<K, V> queueOf(Node<K, V> node) {
+        return switch (node.queue) {
+            case WINDOW -> window;
+            case PROBATION -> probation;
+            default -> protectedQueue;
+        };
+    }
+
+    private static int stripeOf(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+}
\ No newline at end of file
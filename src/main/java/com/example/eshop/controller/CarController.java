@@ -1,21 +1,37 @@
 package com.example.eshop.controller;
 
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.ImportReport;
+import com.example.eshop.events.ChangeFeed;
 import com.example.eshop.model.Car;
+import com.example.eshop.repository.Page;
 import com.example.eshop.service.CarService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @Controller
 @RequestMapping("/car")
 public class CarController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_CHUNK_ROWS = 200;
+    private static final int SEARCH_LIMIT = 50;
+
     private final CarService carservice;
+    private final ChangeFeed<Car> carChangeFeed;
 
-    public CarController(CarService carService) {
+    public CarController(CarService carService, ChangeFeed<Car> carChangeFeed) {
         this.carservice = carService;
+        this.carChangeFeed = carChangeFeed;
     }
 
     @GetMapping("/createCar")
@@ -31,15 +47,84 @@ public class CarController {
         return "redirect:listCar";
     }
 
+    @PostMapping(value = "/importCar", consumes = {BulkFormat.CSV_MEDIA_TYPE, BulkFormat.NDJSON_MEDIA_TYPE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ImportReport importCars(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                   @RequestParam(value = "overwrite", defaultValue = "false") boolean overwrite,
+                                   InputStream body) throws IOException {
+        return carservice.importCars(BulkFormat.open(body, contentType), BulkFormat.forMediaType(contentType),
+                overwrite);
+    }
+
+    @GetMapping("/exportCar")
+    public void exportCars(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                           HttpServletResponse response) throws IOException {
+        BulkFormat bulkFormat = Exports.start(response, format, "cars");
+        if (bulkFormat != null) {
+            carservice.exportCars(response.getOutputStream(), bulkFormat);
+        }
+    }
+
+    @GetMapping("/exportCar/snapshot")
+    public void exportCarSnapshot(HttpServletResponse response) throws IOException {
+        Exports.sendSnapshot(response, carservice.openCarSnapshot(), "cars");
+    }
+
     @GetMapping("/listCar")
-    public String carListPage(Model model) {
-        List<Car> allCars = carservice.findAll();
-        model.addAttribute("cars", allCars);
+    public String carListPage(@RequestParam(value = "cursor", required = false) String cursor,
+                              @RequestParam(value = "size", defaultValue = "50") int size,
+                              WebRequest request, Model model) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        if (request.checkNotModified(ETags.of(carservice.version()))) {
+            return null;
+        }
+        long changeSequence = carChangeFeed.lastSequence();
+        Page<Car> page;
+        try {
+            page = carservice.findPage(cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            return "redirect:/car/listCar";
+        }
+        model.addAttribute("cars", page.items());
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("size", pageSize);
+        model.addAttribute("changeSequence", changeSequence);
+        return "carList";
+    }
+
+    @GetMapping("/listCar/all")
+    public String carListAllPage(HttpServletResponse response, WebRequest request, Model model) {
+        if (request.checkNotModified(ETags.of(carservice.version()))) {
+            return null;
+        }
+        model.addAttribute("changeSequence", carChangeFeed.lastSequence());
+        model.addAttribute("cars", new FlushingIterator<>(carservice.iterateAll(), response, STREAM_CHUNK_ROWS));
+        model.addAttribute("streaming", true);
+        return "carList";
+    }
+
+    @GetMapping("/carEvents")
+    public SseEmitter carEvents(@RequestParam(value = "after", required = false) Long after,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : after != null ? after : carChangeFeed.lastSequence();
+        return carChangeFeed.subscribe(from);
+    }
+
+    @GetMapping("/searchCar")
+    public String searchCarPage(@RequestParam(value = "q", defaultValue = "") String query, Model model) {
+        model.addAttribute("cars", carservice.search(query, SEARCH_LIMIT));
+        model.addAttribute("query", query);
         return "carList";
     }
 
     @GetMapping("/editCar/{carId}")
-    public String editCarPage (@PathVariable String carId, Model model) {
+    public String editCarPage (@PathVariable String carId, WebRequest request, Model model) {
+        long version = carservice.versionOf(carId);
+        if (version != 0 && request.checkNotModified(ETags.of(version))) {
+            return null;
+        }
         Car car = carservice.findById(carId);
 
         if (car == null) {
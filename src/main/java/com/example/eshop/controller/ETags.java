@@ -0,0 +1,15 @@
+package com.example.eshop.controller;
+
+// Strong validators built from repository versions. Versions restart at zero with the process, so each tag
+// carries the boot time too; a tag from an earlier run can never match a page rendered by this one.
+final class ETags {
+
+    private static final String BOOT = Long.toString(System.currentTimeMillis(), 36);
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + BOOT + "-" + version + "\"";
+    }
+}
\ No newline at end of file
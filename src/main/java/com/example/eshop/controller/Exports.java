@@ -0,0 +1,46 @@
+package com.example.eshop.controller;
+
+import com.example.eshop.bulk.BulkExporter;
+import com.example.eshop.bulk.BulkFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+// Response plumbing shared by the product and car export endpoints
+final class Exports {
+
+    private Exports() {
+    }
+
+    // Sets the headers for a text export, or answers 400 and returns null for an unknown format
+    static BulkFormat start(HttpServletResponse response, String format, String baseName) throws IOException {
+        BulkFormat bulkFormat = BulkFormat.forName(format);
+        if (bulkFormat == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown export format " + format);
+            return null;
+        }
+        response.setContentType(bulkFormat.mediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + baseName + "." + bulkFormat.extension() + "\"");
+        return bulkFormat;
+    }
+
+    // The snapshot goes out byte for byte in its persisted binary form; 404 when there is none yet
+    static void sendSnapshot(HttpServletResponse response, FileChannel snapshot, String baseName) throws IOException {
+        if (snapshot == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "No snapshot has been written");
+            return;
+        }
+        try (snapshot) {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(snapshot.size());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + baseName + ".snapshot\"");
+            BulkExporter.transfer(snapshot, response.getOutputStream());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.eshop.controller;
+
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+// Flushes the response every few rows while Thymeleaf iterates, so large lists reach the client in chunks
+class FlushingIterator<T> implements Iterator<T> {
+
+    private final Iterator<T> delegate;
+    private final ServletResponse response;
+    private final int rowsPerChunk;
+    private int rows;
+
+    FlushingIterator(Iterator<T> delegate, ServletResponse response, int rowsPerChunk) {
+        this.delegate = delegate;
+        this.response = response;
+        this.rowsPerChunk = rowsPerChunk;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return delegate.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (rows > 0 && rows % rowsPerChunk == 0) {
+            try {
+                response.flushBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        rows++;
+        return delegate.next();
+    }
+}
\ No newline at end of file
@@ -1,13 +1,24 @@
 package com.example.eshop.controller;
 
+import com.example.eshop.analytics.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 @Controller
 public class MainController {
+
+    private static final int HOME_PAGE_TOP = 5;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    // Shows the figures refreshed in the background, so the request never waits on a scan
     @GetMapping("")
-    public String mainPage() {
+    public String mainPage(Model model) {
+        model.addAttribute("inventory", analyticsService.latest(HOME_PAGE_TOP));
         return "homePage";
     }
 }
\ No newline at end of file
@@ -1,25 +1,42 @@
 package com.example.eshop.controller;
 
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.ImportReport;
+import com.example.eshop.events.ChangeFeed;
 import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
 import com.example.eshop.service.ProductService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @Controller
 @RequestMapping("/product")
 public class ProductController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_CHUNK_ROWS = 200;
+    private static final int SEARCH_LIMIT = 50;
+
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private ChangeFeed<Product> productChangeFeed;
+
     @GetMapping("/create")
     public String createProductPage(Model model) {
         Product product = new Product();
@@ -38,15 +55,92 @@ public class ProductController {
         return "redirect:list";
     }
 
+    // Bulk load from a CSV body with a header row, or NDJSON; rows are stored batch by batch as they arrive.
+    // Rows naming an existing id are reported as errors unless overwrite=true.
+    @PostMapping(value = "/import", consumes = {BulkFormat.CSV_MEDIA_TYPE, BulkFormat.NDJSON_MEDIA_TYPE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ImportReport importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                       @RequestParam(value = "overwrite", defaultValue = "false") boolean overwrite,
+                                       InputStream body) throws IOException {
+        return service.importProducts(BulkFormat.open(body, contentType), BulkFormat.forMediaType(contentType),
+                overwrite);
+    }
+
+    // Full catalog dump, format=ndjson or csv, streamed from the live rows however many there are
+    @GetMapping("/export")
+    public void exportProducts(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        BulkFormat bulkFormat = Exports.start(response, format, "products");
+        if (bulkFormat != null) {
+            service.exportProducts(response.getOutputStream(), bulkFormat);
+        }
+    }
+
+    // The last persisted snapshot as it sits on disk, copied straight from the file channel
+    @GetMapping("/export/snapshot")
+    public void exportProductSnapshot(HttpServletResponse response) throws IOException {
+        Exports.sendSnapshot(response, service.openProductSnapshot(), "products");
+    }
+
     @GetMapping ("/list")
-    public String productListPage (Model model) {
-        List<Product> allProducts = service.findAll();
-        model.addAttribute("products", allProducts);
+    public String productListPage (@RequestParam(value = "cursor", required = false) String cursor,
+                                   @RequestParam(value = "size", defaultValue = "50") int size,
+                                   WebRequest request, Model model) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Answered with 304 before any row is read or any template is rendered
+        if (request.checkNotModified(ETags.of(service.version()))) {
+            return null;
+        }
+        // Taken before the read so the page's live feed replays anything that lands in between
+        long changeSequence = productChangeFeed.lastSequence();
+        Page<Product> page;
+        try {
+            page = service.findPage(cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            return "redirect:/product/list";
+        }
+        model.addAttribute("products", page.items());
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("size", pageSize);
+        model.addAttribute("changeSequence", changeSequence);
+        return "productList";
+    }
+
+    // Unpaged view: rows are rendered straight from the repository iterator and flushed in chunks
+    @GetMapping("/list/all")
+    public String productListAllPage(HttpServletResponse response, WebRequest request, Model model) {
+        if (request.checkNotModified(ETags.of(service.version()))) {
+            return null;
+        }
+        model.addAttribute("changeSequence", productChangeFeed.lastSequence());
+        model.addAttribute("products", new FlushingIterator<>(service.iterateAll(), response, STREAM_CHUNK_ROWS));
+        model.addAttribute("streaming", true);
+        return "productList";
+    }
+
+    // Live deltas for the list pages; an EventSource reconnect resumes from its Last-Event-ID
+    @GetMapping("/events")
+    public SseEmitter productEvents(@RequestParam(value = "after", required = false) Long after,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : after != null ? after : productChangeFeed.lastSequence();
+        return productChangeFeed.subscribe(from);
+    }
+
+    @GetMapping("/search")
+    public String searchProductPage(@RequestParam(value = "q", defaultValue = "") String query, Model model) {
+        model.addAttribute("products", service.search(query, SEARCH_LIMIT));
+        model.addAttribute("query", query);
         return "productList";
     }
 
     @GetMapping("/edit/{id}")
-    public String editProductPage(@PathVariable("id") String productId, Model model) {
+    public String editProductPage(@PathVariable("id") String productId, WebRequest request, Model model) {
+        long version = service.versionOf(productId);
+        if (version != 0 && request.checkNotModified(ETags.of(version))) {
+            return null;
+        }
         Product existingProduct = service.findById(productId);
         if (existingProduct == null) {
             return "redirect:/product/list";
@@ -0,0 +1,62 @@
+package com.example.eshop.controller;
+
+import com.example.eshop.analytics.AnalyticsService;
+import com.example.eshop.analytics.InventoryAnalytics;
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.service.CarService;
+import com.example.eshop.service.ProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+@Controller
+@RequestMapping("/report")
+public class ReportController {
+
+    private static final int MAX_REPORT_ROWS = 500;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    public record LowStockReport(int below, List<Product> products, List<Car> cars) {
+    }
+
+    @GetMapping("/lowStock")
+    public String lowStockPage(@RequestParam(value = "below", defaultValue = "10") int below,
+                               @RequestParam(value = "limit", defaultValue = "100") int limit,
+                               Model model) {
+        LowStockReport report = lowStock(below, limit);
+        model.addAttribute("below", report.below());
+        model.addAttribute("products", report.products());
+        model.addAttribute("cars", report.cars());
+        return "lowStockReport";
+    }
+
+    @GetMapping(value = "/lowStock", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public LowStockReport lowStock(@RequestParam(value = "below", defaultValue = "10") int below,
+                                   @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int rows = Math.clamp(limit, 1, MAX_REPORT_ROWS);
+        return new LowStockReport(below, productService.findLowStock(below, rows), carService.findLowStock(below, rows));
+    }
+
+    @GetMapping(value = "/inventory", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public InventoryAnalytics inventory(@RequestParam(value = "top", defaultValue = "10") int top) {
+        return analyticsService.inventory(top);
+    }
+}
\ No newline at end of file
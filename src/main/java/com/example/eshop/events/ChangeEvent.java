@@ -0,0 +1,9 @@
+package com.example.eshop.events;
+
+// One committed repository mutation; item is null for deletes
+public record ChangeEvent<T>(long sequence, Type type, String id, T item) {
+
+    public enum Type {
+        SAVE, DELETE
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.example.eshop.events;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Server-Sent Events view of a ChangeRing. One dispatcher thread per feed walks every subscriber forward
+ * from its own cursor and hands the events to that subscriber's bounded queue; a sender thread per
+ * subscriber drains the queue onto the connection, so neither producers nor other subscribers wait on a
+ * slow client. A subscriber whose queue overflows, or who fell off the ring, is evicted with a reset event
+ * once its sender catches up. Event ids are ring sequences, which lets an EventSource resume through
+ * Last-Event-ID.
+ */
+public class ChangeFeed<T> implements Closeable {
+
+    private static final int BATCH = 256;
+    static final int QUEUE_CAPACITY = 4 * BATCH;
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    // Queue markers: RESET tells the client to reload before completing, END just completes
+    private static final ChangeEvent<?> RESET = new ChangeEvent<>(ChangeRing.GAP, null, null, null);
+    private static final ChangeEvent<?> END = new ChangeEvent<>(ChangeRing.GAP, null, null, null);
+
+    private final String name;
+    private final ChangeRing<T> ring;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private volatile Thread dispatcher;
+    private volatile boolean closed;
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEvent<?>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        // Written by the dispatcher only
+        private long cursor;
+        private boolean overflowed;
+        private volatile ChangeEvent<?> ending;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void offer(ChangeEvent<T> event) {
+            if (!overflowed && !queue.offer(event)) {
+                overflowed = true;
+            }
+        }
+
+        // The first marker wins. Dropping what is queued lets it fit; if a dispatcher pass still in flight
+        // fills the queue first, the sender finds the marker in ending when it takes the next event.
+        private synchronized void stop(ChangeEvent<?> marker) {
+            if (ending != null) {
+                return;
+            }
+            ending = marker;
+            subscribers.remove(this);
+            queue.clear();
+            queue.offer(marker);
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    ChangeEvent<?> event = queue.take();
+                    if (ending != null) {
+                        event = ending;
+                    }
+                    if (event == END) {
+                        emitter.complete();
+                        return;
+                    }
+                    if (event == RESET) {
+                        emitter.send(SseEmitter.event().name("reset").data(ring.lastSequence()));
+                        emitter.complete();
+                        return;
+                    }
+                    send(emitter, event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter callbacks may not fire for a dead connection
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public ChangeFeed(String name, ChangeRing<T> ring) {
+        this.name = name;
+        this.ring = ring;
+        ring.onPublish(() -> {
+            Thread waiting = dispatcher;
+            if (waiting != null && !subscribers.isEmpty()) {
+                LockSupport.unpark(waiting);
+            }
+        });
+    }
+
+    public long lastSequence() {
+        return ring.lastSequence();
+    }
+
+    public SseEmitter subscribe(long after) {
+        return subscribe(after, new SseEmitter(EMITTER_TIMEOUT_MILLIS));
+    }
+
+    SseEmitter subscribe(long after, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, after);
+        emitter.onCompletion(() -> subscriber.stop(END));
+        emitter.onTimeout(() -> subscriber.stop(END));
+        emitter.onError(error -> subscriber.stop(END));
+        subscribers.add(subscriber);
+        // Senders spend their life blocked on the queue or the socket, which is what virtual threads are for
+        Thread.ofVirtual().name(name + "-change-feed-sender").start(subscriber::drain);
+        LockSupport.unpark(startDispatcher());
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Thread running = dispatcher;
+        if (running != null) {
+            LockSupport.unpark(running);
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.stop(END);
+        }
+    }
+
+    private synchronized Thread startDispatcher() {
+        if (dispatcher == null) {
+            dispatcher = Thread.ofPlatform().daemon().name(name + "-change-feed").start(this::dispatch);
+        }
+        return dispatcher;
+    }
+
+    private void dispatch() {
+        while (!closed) {
+            boolean progressed = false;
+            for (Subscriber subscriber : subscribers) {
+                progressed |= deliver(subscriber);
+            }
+            if (!progressed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Queues the next batch for one subscriber; true if anything was queued
+    private boolean deliver(Subscriber subscriber) {
+        long last = ring.read(subscriber.cursor, BATCH, subscriber::offer);
+        if (last == ChangeRing.GAP || subscriber.overflowed) {
+            subscriber.stop(RESET);
+            return true;
+        }
+        boolean progressed = last > subscriber.cursor;
+        subscriber.cursor = last;
+        return progressed;
+    }
+
+    private static void send(SseEmitter emitter, ChangeEvent<?> event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(event.sequence()))
+                .name(event.type().name().toLowerCase(Locale.ROOT))
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.example.eshop.events;
+
+import com.example.eshop.repository.StoreListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring of the most recent change events of one repository. Producers claim a sequence number with
+ * a single atomic increment and publish the event into its slot; each event carries its own sequence, so a
+ * reader can tell an unpublished slot (older sequence) from an overwritten one (newer sequence) without
+ * any lock. Readers that fall more than a ring's length behind get a gap and must reload.
+ */
+public class ChangeRing<T> implements StoreListener<T> {
+
+    public static final long GAP = -1;
+
+    private final AtomicReferenceArray<ChangeEvent<T>> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile Runnable publishHook = () -> { };
+
+    public ChangeRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    // Called after every publish, on the producer's thread
+    public void onPublish(Runnable hook) {
+        this.publishHook = hook;
+    }
+
+    @Override
+    public void onSave(String id, T previous, T current) {
+        publish(ChangeEvent.Type.SAVE, id, current);
+    }
+
+    @Override
+    public void onDelete(String id, T previous) {
+        publish(ChangeEvent.Type.DELETE, id, null);
+    }
+
+    public long lastSequence() {
+        return claimed.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    long publish(ChangeEvent.Type type, String id, T item) {
+        long sequence = claimed.incrementAndGet();
+        ChangeEvent<T> event = new ChangeEvent<>(sequence, type, id, item);
+        int index = (int) sequence & mask;
+        while (true) {
+            ChangeEvent<T> current = slots.get(index);
+            // A producer that stalled for a whole lap must not overwrite the newer event in its slot
+            if (current != null && current.sequence() > sequence) {
+                break;
+            }
+            if (slots.compareAndSet(index, current, event)) {
+                break;
+            }
+        }
+        publishHook.run();
+        return sequence;
+    }
+
+    // Hands the events after the given sequence to sink in order, stopping at the first one not yet
+    // published or after max events. Returns the last sequence delivered, or GAP if some were overwritten.
+    public long read(long after, int max, Consumer<ChangeEvent<T>> sink) {
+        long end = claimed.get();
+        if (after < 0 || after > end || end - after > capacity()) {
+            return GAP;
+        }
+        long next = after + 1;
+        for (int delivered = 0; delivered < max && next <= end; delivered++, next++) {
+            ChangeEvent<T> event = slots.get((int) next & mask);
+            if (event == null || event.sequence() < next) {
+                break;
+            }
+            if (event.sequence() > next) {
+                return GAP;
+            }
+            sink.accept(event);
+        }
+        return next - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.eshop.events;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EventsConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ChangeFeed<Product> productChangeFeed(ProductRepositoryInterface productRepository,
+                                                 @Value("${eshop.events.capacity:4096}") int capacity) {
+        ChangeRing<Product> ring = new ChangeRing<>(capacity);
+        productRepository.addListener(ring);
+        return new ChangeFeed<>("product", ring);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ChangeFeed<Car> carChangeFeed(CarRepositoryInterface carRepository,
+                                         @Value("${eshop.events.capacity:4096}") int capacity) {
+        ChangeRing<Car> ring = new ChangeRing<>(capacity);
+        carRepository.addListener(ring);
+        return new ChangeFeed<>("car", ring);
+    }
+}
\ No newline at end of file
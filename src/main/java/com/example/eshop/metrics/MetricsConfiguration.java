@@ -0,0 +1,25 @@
+package com.example.eshop.metrics;
+
+import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder repositorySizeGauges(ProductRepositoryInterface productRepository,
+                                            CarRepositoryInterface carRepository) {
+        return registry -> {
+            Gauge.builder("eshop.repository.size", productRepository, ProductRepositoryInterface::count)
+                    .tag("entity", "product")
+                    .register(registry);
+            Gauge.builder("eshop.repository.size", carRepository, CarRepositoryInterface::count)
+                    .tag("entity", "car")
+                    .register(registry);
+        };
+    }
+}
\ No newline at end of file
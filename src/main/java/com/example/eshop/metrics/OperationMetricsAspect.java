@@ -0,0 +1,76 @@
+package com.example.eshop.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public repository and service method. Timers are published as eshop.repository.operations
+ * and eshop.service.operations, tagged with the implementation class and method, and failures are also
+ * counted separately by exception type. Percentiles and histograms come from the
+ * management.metrics.distribution properties.
+ */
+@Aspect
+@Component
+public class OperationMetricsAspect {
+
+    static final String REPOSITORY_TIMER = "eshop.repository.operations";
+    static final String SERVICE_TIMER = "eshop.service.operations";
+    static final String ERROR_COUNTER = "eshop.operation.errors";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public OperationMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.example.eshop.repository.RepositoryInterface+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    @Around("execution(public * com.example.eshop.service.ProductService+.*(..))"
+            + " || execution(public * com.example.eshop.service.CarService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimer(name, joinPoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable failure) {
+            String type = joinPoint.getTarget().getClass().getSimpleName();
+            String method = joinPoint.getSignature().getName();
+            String exception = failure.getClass().getSimpleName();
+            Timer.builder(name)
+                    .tags("class", type, "method", method, "outcome", "error", "exception", exception)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder(ERROR_COUNTER)
+                    .tags("class", type, "method", method, "exception", exception)
+                    .register(registry)
+                    .increment();
+            throw failure;
+        }
+    }
+
+    // The happy path resolves its timer from a local cache instead of a registry lookup on every call
+    private Timer successTimer(String name, ProceedingJoinPoint joinPoint) {
+        String type = joinPoint.getTarget().getClass().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        return successTimers.computeIfAbsent(name + '|' + type + '|' + method, key -> Timer.builder(name)
+                .tags("class", type, "method", method, "outcome", "success", "exception", "none")
+                .register(registry));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.example.eshop.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 128-bit time-ordered identifier in the UUIDv7 layout: 48 bits of Unix milliseconds, a 12-bit counter for
+ * ids minted in the same millisecond on the same thread, and 62 random bits. Every thread keeps its own
+ * clock and counter, so generation takes no lock and never touches SecureRandom, and one thread's ids are
+ * strictly increasing. The string form is the canonical lowercase UUID, which sorts like the id itself and
+ * fits the existing String id fields and URLs.
+ */
+public record CompactId(long mostSignificantBits, long leastSignificantBits) implements Comparable<CompactId> {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    // Per thread: the last millisecond used and the counter within it
+    private static final ThreadLocal<long[]> CLOCK = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static CompactId generate() {
+        long[] clock = CLOCK.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        if (now > clock[0]) {
+            clock[0] = now;
+            // Start low in the counter range so a burst within one millisecond rarely overflows it
+            clock[1] = random.nextLong(COUNTER_MAX >> 1);
+        } else if (++clock[1] > COUNTER_MAX) {
+            // Counter exhausted, or the wall clock stepped back: borrow the next millisecond
+            clock[0]++;
+            clock[1] = 0;
+        }
+        long mostSignificant = (clock[0] << 16) | VERSION_7 | clock[1];
+        long leastSignificant = (random.nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new CompactId(mostSignificant, leastSignificant);
+    }
+
+    // Only lowercase canonical UUID strings parse, so toString always gives back the exact input; null otherwise
+    public static CompactId parse(String id) {
+        if (id == null || id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-'
+                || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+        long mostSignificant = 0;
+        long leastSignificant = 0;
+        int digits = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c == '-' && (i == 8 || i == 13 || i == 18 || i == 23)) {
+                continue;
+            }
+            int value;
+            if (c >= '0' && c <= '9') {
+                value = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                value = c - 'a' + 10;
+            } else {
+                return null;
+            }
+            if (digits < 16) {
+                mostSignificant = (mostSignificant << 4) | value;
+            } else {
+                leastSignificant = (leastSignificant << 4) | value;
+            }
+            digits++;
+        }
+        return new CompactId(mostSignificant, leastSignificant);
+    }
+
+    public long timestampMillis() {
+        return mostSignificantBits >>> 16;
+    }
+
+    @Override
+    public int compareTo(CompactId other) {
+        int high = Long.compareUnsigned(mostSignificantBits, other.mostSignificantBits);
+        return high != 0 ? high : Long.compareUnsigned(leastSignificantBits, other.leastSignificantBits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mostSignificantBits ^ leastSignificantBits);
+    }
+
+    @Override
+    public String toString() {
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+}
\ No newline at end of file
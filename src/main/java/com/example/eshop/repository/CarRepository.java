@@ -1,51 +1,58 @@
 package com.example.eshop.repository;
 
 import com.example.eshop.model.Car;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
-public class CarRepository implements CarRepositoryInterface {
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "eshop.car.storage", havingValue = "heap", matchIfMissing = true)
+public class CarRepository extends EntityStore<Car> implements CarRepositoryInterface {
 
-    private final List<Car> carData = new ArrayList<>();
+    static final String COLOR_INDEX = "carColor";
+    static final String NAME_INDEX = "carName";
 
-    @Override
-    public Car create(Car car) {
-        if (car.getCarId() == null) {
-            car.setCarId(UUID.randomUUID().toString());
-        }
-        carData.add(car);
-        return car;
+    public CarRepository() {
+        this(new AtomicLong());
     }
 
-    @Override
-    public List<Car> findAll() {
-        return new ArrayList<>(carData);
+    // Used by the sharded repository for each of its shards
+    CarRepository(AtomicLong sequence) {
+        super(Car::getCarId, Car::setCarId, sequence);
+        addIndex(COLOR_INDEX, Car::getCarColor);
+        addIndex(NAME_INDEX, Car::getCarName);
     }
 
     @Override
-    public Car findById(String id) {
-        return carData.stream()
-                .filter(car -> car.getCarId().equals(id))
-                .findFirst()
-                .orElse(null);
+    public List<Car> findByColor(String carColor) {
+        return findByIndex(COLOR_INDEX, carColor);
     }
 
     @Override
-    public Car update(Car updatedCar) {
-        for (int i = 0; i < carData.size(); i++) {
-            if (carData.get(i).getCarId().equals(updatedCar.getCarId())) {
-                carData.set(i, updatedCar);
-                return updatedCar;
-            }
-        }
-        return null;
+    public List<Car> findByName(String carName) {
+        return findByIndex(NAME_INDEX, carName);
     }
 
+    // Same contract as the product stock adjustment: atomic per row, never below zero
     @Override
-    public void deleteById(String id) {
-        carData.removeIf(car -> car.getCarId().equals(id));
+    public boolean adjustQuantity(String carId, int delta) {
+        if (carId == null) {
+            return false;
+        }
+        return modify(carId, existing -> {
+            long quantity = (long) existing.getCarQuantity() + delta;
+            if (quantity < 0 || quantity > Integer.MAX_VALUE) {
+                return null;
+            }
+            Car adjusted = new Car();
+            adjusted.setCarId(existing.getCarId());
+            adjusted.setCarName(existing.getCarName());
+            adjusted.setCarColor(existing.getCarColor());
+            adjusted.setCarQuantity((int) quantity);
+            return adjusted;
+        }) != null;
     }
 }
\ No newline at end of file
@@ -2,5 +2,10 @@ package com.example.eshop.repository;
 
 import com.example.eshop.model.Car;
 
+import java.util.List;
+
 public interface CarRepositoryInterface extends RepositoryInterface<Car> {
+    List<Car> findByColor(String carColor);
+    List<Car> findByName(String carName);
+    boolean adjustQuantity(String carId, int delta);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.eshop.repository;
+
+// Durable record of store mutations; appends happen under the row lock, waiting happens after it is released
+public interface ChangeLog<T> {
+    long logSave(String id, T item);
+    long logDelete(String id);
+    void awaitDurable(long position);
+}
\ No newline at end of file
@@ -0,0 +1,326 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.CompactId;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Generic in-memory store behind the repositories. Rows are kept in a concurrent hash map keyed by id,
+ * and any declared secondary indexes are maintained on every create, update and delete. Ids in CompactId
+ * form are keyed by their two longs rather than their 36-character string, which is what the store mints;
+ * any other id is kept as the string itself. The insertion
+ * order lives in a persistent SequenceTrie that writers replace with a compare-and-set after each change,
+ * so findAll, findPage and spliterator read one immutable version of it: a consistent snapshot that costs
+ * a single volatile read, with no copying or locking however long the reader takes.
+ *
+ * The price is on the write side: every create, update and delete publishes through that one reference,
+ * so concurrent writers contend on it even when their ids differ, and a writer that loses the race copies
+ * its O(log32 n) path again. ShardedStore spreads that contention by giving each shard its own trie.
+ */
+public class EntityStore<T> implements RepositoryInterface<T> {
+
+    private final Function<T, String> idExtractor;
+    private final BiConsumer<T, String> idAssigner;
+    private final ConcurrentHashMap<Object, Row<T>> rows = new ConcurrentHashMap<>();
+    private final AtomicReference<SequenceTrie<T>> order = new AtomicReference<>(SequenceTrie.empty());
+    private final Map<String, SecondaryIndex<T>> indexes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence;
+    private final AtomicLong rowStamps = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final List<StoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ChangeLog<T> changeLog;
+
+    private record Row<T>(long sequence, long version, T item) {
+    }
+
+    public EntityStore(Function<T, String> idExtractor, BiConsumer<T, String> idAssigner) {
+        this(idExtractor, idAssigner, new AtomicLong());
+    }
+
+    // Shards of one ShardedStore share the sequence, so their rows merge back into a single insertion order
+    protected EntityStore(Function<T, String> idExtractor, BiConsumer<T, String> idAssigner, AtomicLong sequence) {
+        this.idExtractor = idExtractor;
+        this.idAssigner = idAssigner;
+        this.sequence = sequence;
+    }
+
+    // Declares a secondary index; must be called before any rows are stored
+    protected final void addIndex(String name, Function<T, ?> keyExtractor) {
+        if (!rows.isEmpty()) {
+            throw new IllegalStateException("Indexes must be declared before rows are stored");
+        }
+        if (indexes.putIfAbsent(name, new SecondaryIndex<>(keyExtractor)) != null) {
+            throw new IllegalArgumentException("Index " + name + " is already declared");
+        }
+    }
+
+    // Once attached, every mutation is appended to the log and only returns after it is durable
+    public void attachChangeLog(ChangeLog<T> changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public void addListener(StoreListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public T create(T item) {
+        ChangeLog<T> log = changeLog;
+        awaitDurable(log, save(item, log));
+        return item;
+    }
+
+    // Rows still lock one at a time, but a batch pays for a single durable wait instead of one per row
+    @Override
+    public void createAll(List<T> items) {
+        ChangeLog<T> log = changeLog;
+        long lastPosition = 0;
+        for (T item : items) {
+            lastPosition = Math.max(lastPosition, save(item, log));
+        }
+        awaitDurable(log, lastPosition);
+    }
+
+    // Inserts or replaces one row and returns its change log position, 0 when no log is attached
+    private long save(T item, ChangeLog<T> log) {
+        String itemId = idExtractor.apply(item);
+        if (itemId == null || itemId.isEmpty()) {
+            itemId = CompactId.generate().toString();
+            idAssigner.accept(item, itemId);
+        }
+        String id = itemId;
+        Object key = rowKey(id);
+        long[] logPosition = new long[1];
+        rows.compute(key, (k, existing) -> {
+            // Logged first: if the append throws, compute leaves the row as it was and nothing else saw it
+            if (log != null) {
+                logPosition[0] = log.logSave(id, item);
+            }
+            long position;
+            if (existing == null) {
+                position = sequence.incrementAndGet();
+            } else {
+                position = existing.sequence();
+            }
+            reindex(key, item);
+            order.updateAndGet(current -> current.with(position, item));
+            notifySave(id, existing == null ? null : existing.item(), item);
+            return new Row<>(position, rowStamps.incrementAndGet(), item);
+        });
+        version.incrementAndGet();
+        notifyCommitted(id);
+        return logPosition[0];
+    }
+
+    @Override
+    public Iterator<T> findAll() {
+        return order.get().values();
+    }
+
+    // Splits along the trie's nodes with exact sizes, so parallel scans divide the rows without copying them
+    @Override
+    public Spliterator<T> spliterator() {
+        return order.get().spliterator();
+    }
+
+    // Keyset pagination on the insertion sequence, so a page costs O(log n + limit) however many rows exist
+    @Override
+    public Page<T> findPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        long after = cursor == null || cursor.isEmpty() ? -1 : parseCursor(cursor);
+        SequenceTrie.Cursor<T> rows = order.get().cursorAfter(after);
+        List<T> items = new ArrayList<>(Math.min(limit, 256));
+        long lastPosition = 0;
+        while (rows.advance()) {
+            if (items.size() == limit) {
+                return new Page<>(items, Long.toString(lastPosition));
+            }
+            items.add(rows.value());
+            lastPosition = rows.key();
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public T findById(String id) {
+        if (id == null) {
+            return null;
+        }
+        Row<T> row = rows.get(rowKey(id));
+        return row == null ? null : row.item();
+    }
+
+    @Override
+    public T update(T item) {
+        String itemId = idExtractor.apply(item);
+        if (itemId == null) {
+            return null;
+        }
+        return modify(itemId, existing -> item);
+    }
+
+    // Replaces a row with change(current) under that row's lock. Writers to other ids take other locks but
+    // still meet at the compare-and-set on order, retrying it when another write published first.
+    // Returns the new item, or null when the row is absent or change returns null.
+    protected final T modify(String id, UnaryOperator<T> change) {
+        ChangeLog<T> log = changeLog;
+        long[] logPosition = new long[1];
+        List<T> replaced = new ArrayList<>(1);
+        rows.computeIfPresent(rowKey(id), (key, existing) -> {
+            T item = change.apply(existing.item());
+            if (item == null) {
+                return existing;
+            }
+            if (log != null) {
+                logPosition[0] = log.logSave(id, item);
+            }
+            reindex(key, item);
+            order.updateAndGet(current -> current.with(existing.sequence(), item));
+            notifySave(id, existing.item(), item);
+            replaced.add(item);
+            return new Row<>(existing.sequence(), rowStamps.incrementAndGet(), item);
+        });
+        if (replaced.isEmpty()) {
+            return null;
+        }
+        version.incrementAndGet();
+        notifyCommitted(id);
+        awaitDurable(log, logPosition[0]);
+        return replaced.get(0);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (id == null) {
+            return;
+        }
+        ChangeLog<T> log = changeLog;
+        long[] logPosition = new long[1];
+        boolean[] deleted = new boolean[1];
+        rows.computeIfPresent(rowKey(id), (key, existing) -> {
+            if (log != null) {
+                logPosition[0] = log.logDelete(id);
+            }
+            unindex(key);
+            order.updateAndGet(current -> current.without(existing.sequence()));
+            for (StoreListener<T> listener : listeners) {
+                listener.onDelete(id, existing.item());
+            }
+            deleted[0] = true;
+            return null;
+        });
+        if (deleted[0]) {
+            version.incrementAndGet();
+            notifyCommitted(id);
+        }
+        awaitDurable(log, logPosition[0]);
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    // Bumped only once a change is visible, so a reader that takes it first never sees older rows than it
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public long versionOf(String id) {
+        if (id == null) {
+            return 0;
+        }
+        Row<T> row = rows.get(rowKey(id));
+        return row == null ? 0 : row.version();
+    }
+
+    // Rows whose indexed attribute equals the key, in insertion order
+    protected List<T> findByIndex(String name, Object key) {
+        return new ArrayList<>(findByIndexOrdered(name, key).values());
+    }
+
+    // The same rows keyed by their insertion sequence, for merging across shards
+    NavigableMap<Long, T> findByIndexOrdered(String name, Object key) {
+        SecondaryIndex<T> index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown index " + name);
+        }
+        NavigableMap<Long, T> matches = new TreeMap<>();
+        for (Object rowKey : index.rowKeysFor(key)) {
+            Row<T> row = rows.get(rowKey);
+            // The index may briefly lag a concurrent write, so confirm against the row itself
+            if (row != null && index.matches(row.item(), key)) {
+                matches.put(row.sequence(), row.item());
+            }
+        }
+        return matches;
+    }
+
+    // The current version of the rows keyed by insertion sequence; later writes never change it
+    SequenceTrie<T> snapshot() {
+        return order.get();
+    }
+
+    private void notifySave(String id, T previous, T current) {
+        for (StoreListener<T> listener : listeners) {
+            listener.onSave(id, previous, current);
+        }
+    }
+
+    // Readers of rows do not wait for the compute lock, so they only see a write once compute has returned
+    private void notifyCommitted(String id) {
+        for (StoreListener<T> listener : listeners) {
+            listener.onCommitted(id);
+        }
+    }
+
+    private static <T> void awaitDurable(ChangeLog<T> log, long position) {
+        if (log != null && position > 0) {
+            log.awaitDurable(position);
+        }
+    }
+
+    static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed page cursor " + cursor, e);
+        }
+    }
+
+    // Equal ids always give equal keys, since CompactId.parse only accepts the form its toString produces
+    static Object rowKey(String id) {
+        CompactId compact = CompactId.parse(id);
+        return compact != null ? compact : id;
+    }
+
+    private void reindex(Object rowKey, T item) {
+        for (SecondaryIndex<T> index : indexes.values()) {
+            index.put(rowKey, item);
+        }
+    }
+
+    private void unindex(Object rowKey) {
+        for (SecondaryIndex<T> index : indexes.values()) {
+            index.remove(rowKey);
+        }
+    }
+}
\ No newline at end of file
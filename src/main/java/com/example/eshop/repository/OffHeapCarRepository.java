@@ -0,0 +1,708 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.CompactId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Car repository that keeps its rows outside the Java heap, one direct buffer per column: a fixed-width id
+ * column (canonical UUIDs packed into two longs), dictionary-encoded colors, packed quantities and a
+ * UTF-8 arena for names. The only per-row heap state is one int in the open-addressing id table, and a
+ * Car object is built only when a row is read. Enabled with eshop.car.storage=offheap.
+ *
+ * Deleted slots go on a free list threaded through their quantity column and are reused by later creates,
+ * and the arena is compacted down to its live bytes whenever it fills, so create/delete churn does not
+ * grow the columns. Buffers are int-indexed, so the row and arena limits are explicit and a write past
+ * them fails instead of overflowing an offset.
+ */
+@Repository
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "eshop.car.storage", havingValue = "offheap")
+public class OffHeapCarRepository implements CarRepositoryInterface {
+
+    private static final int ID_WIDTH = 17;
+    private static final int NAME_WIDTH = 8;
+    private static final byte ID_UUID = 1;
+    private static final byte ID_ARENA = 2;
+    private static final byte LIVE = 1;
+    private static final byte DELETED = 2;
+    private static final int NO_COLOR = -1;
+    private static final int EMPTY = -1;
+    private static final int TOMBSTONE = -2;
+    private static final int INITIAL_ROWS = 1024;
+    private static final int MAX_BUFFER_BYTES = Integer.MAX_VALUE - 8;
+    // The widest column decides how many rows fit in int-indexed buffers
+    static final int MAX_ROWS = MAX_BUFFER_BYTES / ID_WIDTH;
+    private static final int MAX_ID_TABLE = 1 << 30;
+    private static final int NO_SLOT = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> colorDictionary = new ArrayList<>();
+    private final Map<String, Integer> colorCodes = new HashMap<>();
+    private final List<StoreListener<Car>> listeners = new CopyOnWriteArrayList<>();
+
+    private ByteBuffer status;
+    private ByteBuffer ids;
+    private ByteBuffer names;
+    private ByteBuffer colors;
+    private ByteBuffer quantities;
+    private ByteBuffer versions;
+    private ByteBuffer arena;
+    private int arenaSize;
+    // Arena bytes no live row points at any more; reclaimed when the arena is next rebuilt
+    private int arenaGarbage;
+    private int capacity;
+    private int rowCount;
+    private int liveCount;
+    // Head of the free list of deleted slots, each holding the next one in its quantity column
+    private int freeSlot = NO_SLOT;
+    private int[] idTable;
+    private int idTableUsed;
+    // Written under the write lock, read without it
+    private volatile long version;
+
+    public OffHeapCarRepository() {
+        capacity = INITIAL_ROWS;
+        status = ByteBuffer.allocateDirect(capacity);
+        ids = ByteBuffer.allocateDirect(at(capacity, ID_WIDTH));
+        names = ByteBuffer.allocateDirect(at(capacity, NAME_WIDTH));
+        colors = ByteBuffer.allocateDirect(at(capacity, Integer.BYTES));
+        quantities = ByteBuffer.allocateDirect(at(capacity, Integer.BYTES));
+        versions = ByteBuffer.allocateDirect(at(capacity, Long.BYTES));
+        arena = ByteBuffer.allocateDirect(at(capacity, 16));
+        idTable = new int[capacity * 2];
+        Arrays.fill(idTable, EMPTY);
+    }
+
+    @Override
+    public void addListener(StoreListener<Car> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public Car create(Car car) {
+        lock.writeLock().lock();
+        try {
+            save(car);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyCommitted(car.getCarId());
+        return car;
+    }
+
+    // One write lock acquisition for the whole batch
+    @Override
+    public void createAll(List<Car> cars) {
+        lock.writeLock().lock();
+        try {
+            for (Car car : cars) {
+                save(car);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Car car : cars) {
+            notifyCommitted(car.getCarId());
+        }
+    }
+
+    // Caller holds the write lock
+    private void save(Car car) {
+        if (car.getCarId() == null || car.getCarId().isEmpty()) {
+            car.setCarId(CompactId.generate().toString());
+        }
+        int slot = findSlot(car.getCarId());
+        Car previous = null;
+        if (slot < 0) {
+            slot = appendRow(car.getCarId());
+            writeName(slot, car.getCarName(), false);
+        } else {
+            previous = listeners.isEmpty() ? null : view(slot);
+            writeName(slot, car.getCarName(), true);
+        }
+        writeAttributes(slot, car);
+        stamp(slot);
+        notifySave(car.getCarId(), previous, car);
+    }
+
+    // Finds and reads each row under one read lock, so a slot deleted or reused between calls is never read
+    @Override
+    public Iterator<Car> findAll() {
+        return new Iterator<>() {
+            private int position;
+            private Car next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && position >= 0) {
+                    lock.readLock().lock();
+                    try {
+                        int slot = nextLiveSlot(position);
+                        position = slot < 0 ? -1 : slot + 1;
+                        next = slot < 0 ? null : view(slot);
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Car next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Car car = next;
+                next = null;
+                return car;
+            }
+        };
+    }
+
+    // The cursor is the slot of the last row returned. A row keeps its slot while it lives, so paging never
+    // repeats or skips one; a row created meanwhile may land in a reused slot behind the cursor and be missed.
+    @Override
+    public Page<Car> findPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        int start = cursor == null || cursor.isEmpty() ? 0 : parseCursor(cursor) + 1;
+        List<Car> items = new ArrayList<>(Math.min(limit, 256));
+        lock.readLock().lock();
+        try {
+            int lastSlot = -1;
+            for (int slot = start; slot < rowCount; slot++) {
+                if (status.get(slot) != LIVE) {
+                    continue;
+                }
+                if (items.size() == limit) {
+                    return new Page<>(items, Integer.toString(lastSlot));
+                }
+                items.add(view(slot));
+                lastSlot = slot;
+            }
+            return new Page<>(items, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Car findById(String id) {
+        if (id == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(id);
+            return slot < 0 ? null : view(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Car update(Car car) {
+        if (car.getCarId() == null) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(car.getCarId());
+            if (slot < 0) {
+                return null;
+            }
+            Car previous = listeners.isEmpty() ? null : view(slot);
+            writeName(slot, car.getCarName(), true);
+            writeAttributes(slot, car);
+            stamp(slot);
+            notifySave(car.getCarId(), previous, car);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyCommitted(car.getCarId());
+        return car;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int position = findTablePosition(id);
+            if (position < 0) {
+                return;
+            }
+            int slot = idTable[position];
+            Car previous = listeners.isEmpty() ? null : view(slot);
+            status.put(slot, DELETED);
+            idTable[position] = TOMBSTONE;
+            liveCount--;
+            version++;
+            release(slot);
+            if (previous != null) {
+                for (StoreListener<Car> listener : listeners) {
+                    listener.onDelete(id, previous);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyCommitted(id);
+    }
+
+    // Only the packed quantity column is touched; the name and color columns stay as they are
+    @Override
+    public boolean adjustQuantity(String carId, int delta) {
+        if (carId == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(carId);
+            if (slot < 0) {
+                return false;
+            }
+            long quantity = (long) quantities.getInt(at(slot, Integer.BYTES)) + delta;
+            if (quantity < 0 || quantity > Integer.MAX_VALUE) {
+                return false;
+            }
+            Car previous = listeners.isEmpty() ? null : view(slot);
+            quantities.putInt(at(slot, Integer.BYTES), (int) quantity);
+            stamp(slot);
+            if (previous != null) {
+                notifySave(carId, previous, view(slot));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyCommitted(carId);
+        return true;
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A column scan over packed dictionary codes, with no per-row object access
+    @Override
+    public List<Car> findByColor(String carColor) {
+        List<Car> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Integer dictionaryCode = carColor == null ? Integer.valueOf(NO_COLOR) : colorCodes.get(carColor);
+            if (dictionaryCode == null) {
+                return result;
+            }
+            int code = dictionaryCode;
+            for (int slot = 0; slot < rowCount; slot++) {
+                if (colors.getInt(at(slot, Integer.BYTES)) == code && status.get(slot) == LIVE) {
+                    result.add(view(slot));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Car> findByName(String carName) {
+        List<Car> result = new ArrayList<>();
+        if (carName == null) {
+            return result;
+        }
+        byte[] wanted = carName.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < rowCount; slot++) {
+                if (status.get(slot) == LIVE && arenaEquals(names.getInt(at(slot, NAME_WIDTH)),
+                        names.getInt(at(slot, NAME_WIDTH) + Integer.BYTES), wanted)) {
+                    result.add(view(slot));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public long versionOf(String id) {
+        if (id == null) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(id);
+            return slot < 0 ? 0 : versions.getLong(at(slot, Long.BYTES));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Row versions come from the repository counter, so a recreated id never repeats an old version
+    private void stamp(int slot) {
+        version++;
+        versions.putLong(at(slot, Long.BYTES), version);
+    }
+
+    private void notifySave(String id, Car previous, Car current) {
+        for (StoreListener<Car> listener : listeners) {
+            listener.onSave(id, previous, current);
+        }
+    }
+
+    // Caller holds the read lock
+    private void notifyCommitted(String id) {
+        for (StoreListener<Car> listener : listeners) {
+            listener.onCommitted(id);
+        }
+    }
+
+    private int nextLiveSlot(int from) {
+        for (int slot = from; slot < rowCount; slot++) {
+            if (status.get(slot) == LIVE) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private Car view(int slot) {
+        Car car = new Car();
+        car.setCarId(readId(slot));
+        car.setCarName(readArena(names.getInt(at(slot, NAME_WIDTH)), names.getInt(at(slot, NAME_WIDTH) + Integer.BYTES)));
+        int colorCode = colors.getInt(at(slot, Integer.BYTES));
+        car.setCarColor(colorCode == NO_COLOR ? null : colorDictionary.get(colorCode));
+        car.setCarQuantity(quantities.getInt(at(slot, Integer.BYTES)));
+        return car;
+    }
+
+    private void writeAttributes(int slot, Car car) {
+        colors.putInt(at(slot, Integer.BYTES), colorCode(car.getCarColor()));
+        quantities.putInt(at(slot, Integer.BYTES), car.getCarQuantity());
+    }
+
+    private int colorCode(String color) {
+        if (color == null) {
+            return NO_COLOR;
+        }
+        return colorCodes.computeIfAbsent(color, key -> {
+            colorDictionary.add(key);
+            return colorDictionary.size() - 1;
+        });
+    }
+
+    // Names that fit in their old space are rewritten in place; longer ones are appended to the arena
+    private void writeName(int slot, String name, boolean reuse) {
+        int base = at(slot, NAME_WIDTH);
+        int oldLength = reuse ? Math.max(0, names.getInt(base + Integer.BYTES)) : 0;
+        if (name == null) {
+            names.putInt(base + Integer.BYTES, -1);
+            arenaGarbage += oldLength;
+            return;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int offset;
+        if (bytes.length <= oldLength) {
+            offset = names.getInt(base);
+            arenaGarbage += oldLength - bytes.length;
+        } else {
+            // Appending may rebuild the arena, which still copies the old name; it is garbage from here on
+            offset = appendArena(bytes.length);
+            arenaGarbage += oldLength;
+        }
+        arena.put(offset, bytes);
+        names.putInt(base, offset);
+        names.putInt(base + Integer.BYTES, bytes.length);
+    }
+
+    // A full arena is rebuilt with only its live bytes, into the same capacity if they take at most half of
+    // it and into a larger one otherwise
+    private int appendArena(int length) {
+        if ((long) arenaSize + length > arena.capacity()) {
+            long needed = (long) arenaSize - arenaGarbage + length;
+            if (needed > MAX_BUFFER_BYTES) {
+                throw new IllegalStateException("Off-heap car arena cannot hold more than " + MAX_BUFFER_BYTES
+                        + " bytes of names and ids");
+            }
+            long current = arena.capacity();
+            long wanted = needed * 2 <= current ? current : Math.max(current * 2, needed);
+            rebuildArena((int) Math.min(wanted, MAX_BUFFER_BYTES));
+        }
+        int offset = arenaSize;
+        arenaSize += length;
+        return offset;
+    }
+
+    private void rebuildArena(int size) {
+        ByteBuffer rebuilt = ByteBuffer.allocateDirect(size);
+        int used = 0;
+        for (int slot = 0; slot < rowCount; slot++) {
+            if (status.get(slot) != LIVE) {
+                continue;
+            }
+            int idBase = at(slot, ID_WIDTH);
+            if (ids.get(idBase) == ID_ARENA) {
+                int length = ids.getInt(idBase + 5);
+                rebuilt.put(used, arena, ids.getInt(idBase + 1), length);
+                ids.putInt(idBase + 1, used);
+                used += length;
+            }
+            int nameBase = at(slot, NAME_WIDTH);
+            int length = names.getInt(nameBase + Integer.BYTES);
+            if (length > 0) {
+                rebuilt.put(used, arena, names.getInt(nameBase), length);
+                names.putInt(nameBase, used);
+                used += length;
+            }
+        }
+        arena = rebuilt;
+        arenaSize = used;
+        arenaGarbage = 0;
+    }
+
+    private String readArena(int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        arena.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean arenaEquals(int offset, int length, byte[] wanted) {
+        if (length != wanted.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (arena.get(offset + i) != wanted[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Takes a freed slot when there is one, so churn reuses rows instead of appending them
+    private int appendRow(String id) {
+        int slot;
+        if (freeSlot != NO_SLOT) {
+            slot = freeSlot;
+            freeSlot = quantities.getInt(at(slot, Integer.BYTES));
+        } else {
+            if (rowCount == capacity) {
+                growColumns();
+            }
+            slot = rowCount++;
+        }
+        int base = at(slot, ID_WIDTH);
+        CompactId compact = CompactId.parse(id);
+        if (compact != null) {
+            ids.put(base, ID_UUID);
+            ids.putLong(base + 1, compact.mostSignificantBits());
+            ids.putLong(base + 9, compact.leastSignificantBits());
+        } else {
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            int offset = appendArena(bytes.length);
+            arena.put(offset, bytes);
+            ids.put(base, ID_ARENA);
+            ids.putInt(base + 1, offset);
+            ids.putInt(base + 5, bytes.length);
+        }
+        names.putInt(at(slot, NAME_WIDTH) + Integer.BYTES, -1);
+        status.put(slot, LIVE);
+        liveCount++;
+        insertIntoTable(hash(id, compact), slot);
+        return slot;
+    }
+
+    // A deleted row's arena bytes become garbage and its slot goes on the free list
+    private void release(int slot) {
+        int idBase = at(slot, ID_WIDTH);
+        if (ids.get(idBase) == ID_ARENA) {
+            arenaGarbage += ids.getInt(idBase + 5);
+        }
+        arenaGarbage += Math.max(0, names.getInt(at(slot, NAME_WIDTH) + Integer.BYTES));
+        names.putInt(at(slot, NAME_WIDTH) + Integer.BYTES, -1);
+        quantities.putInt(at(slot, Integer.BYTES), freeSlot);
+        freeSlot = slot;
+    }
+
+    private void growColumns() {
+        if (capacity == MAX_ROWS) {
+            throw new IllegalStateException("Off-heap car repository cannot hold more than " + MAX_ROWS + " rows");
+        }
+        int grownCapacity = (int) Math.min((long) capacity * 2, MAX_ROWS);
+        status = grow(status, capacity, grownCapacity, 1);
+        ids = grow(ids, capacity, grownCapacity, ID_WIDTH);
+        names = grow(names, capacity, grownCapacity, NAME_WIDTH);
+        colors = grow(colors, capacity, grownCapacity, Integer.BYTES);
+        quantities = grow(quantities, capacity, grownCapacity, Integer.BYTES);
+        versions = grow(versions, capacity, grownCapacity, Long.BYTES);
+        capacity = grownCapacity;
+    }
+
+    private static ByteBuffer grow(ByteBuffer column, int rows, int grownRows, int width) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(at(grownRows, width));
+        grown.put(0, column, 0, at(rows, width));
+        return grown;
+    }
+
+    private String readId(int slot) {
+        int base = at(slot, ID_WIDTH);
+        if (ids.get(base) == ID_UUID) {
+            return new CompactId(ids.getLong(base + 1), ids.getLong(base + 9)).toString();
+        }
+        return readArena(ids.getInt(base + 1), ids.getInt(base + 5));
+    }
+
+    private boolean idEquals(int slot, CompactId compact, byte[] bytes) {
+        int base = at(slot, ID_WIDTH);
+        if (ids.get(base) == ID_UUID) {
+            return compact != null && ids.getLong(base + 1) == compact.mostSignificantBits()
+                    && ids.getLong(base + 9) == compact.leastSignificantBits();
+        }
+        return compact == null && arenaEquals(ids.getInt(base + 1), ids.getInt(base + 5), bytes);
+    }
+
+    // Compact ids hash from their two longs, so neither lookups nor rehashing need the string form
+    private static int hash(String id, CompactId compact) {
+        return spread(compact != null ? compact.hashCode() : id.hashCode());
+    }
+
+    private int slotHash(int slot) {
+        int base = at(slot, ID_WIDTH);
+        if (ids.get(base) == ID_UUID) {
+            return spread(new CompactId(ids.getLong(base + 1), ids.getLong(base + 9)).hashCode());
+        }
+        return spread(readArena(ids.getInt(base + 1), ids.getInt(base + 5)).hashCode());
+    }
+
+    private int findSlot(String id) {
+        int position = findTablePosition(id);
+        return position < 0 ? -1 : idTable[position];
+    }
+
+    private int findTablePosition(String id) {
+        CompactId compact = CompactId.parse(id);
+        byte[] bytes = compact == null ? id.getBytes(StandardCharsets.UTF_8) : null;
+        int mask = idTable.length - 1;
+        for (int position = hash(id, compact) & mask; ; position = (position + 1) & mask) {
+            int slot = idTable[position];
+            if (slot == EMPTY) {
+                return -1;
+            }
+            if (slot >= 0 && idEquals(slot, compact, bytes)) {
+                return position;
+            }
+        }
+    }
+
+    // Tombstones count as used, so a table that fills up mostly with them is rebuilt at the same size
+    private void insertIntoTable(int hash, int slot) {
+        if ((long) (idTableUsed + 1) * 2 > idTable.length) {
+            if ((long) (liveCount + 1) * 4 <= idTable.length) {
+                rehash(idTable.length);
+            } else if (idTable.length < MAX_ID_TABLE) {
+                rehash(idTable.length * 2);
+            } else {
+                throw new IllegalStateException("Off-heap car id table cannot grow past " + MAX_ID_TABLE + " entries");
+            }
+        }
+        int mask = idTable.length - 1;
+        int position = hash & mask;
+        while (idTable[position] >= 0) {
+            position = (position + 1) & mask;
+        }
+        if (idTable[position] == EMPTY) {
+            idTableUsed++;
+        }
+        idTable[position] = slot;
+    }
+
+    // Rebuilds the id table from the live rows, which also clears out tombstones
+    private void rehash(int size) {
+        int[] rebuilt = new int[size];
+        Arrays.fill(rebuilt, EMPTY);
+        int mask = size - 1;
+        int used = 0;
+        for (int slot = 0; slot < rowCount; slot++) {
+            if (status.get(slot) != LIVE) {
+                continue;
+            }
+            int position = slotHash(slot) & mask;
+            while (rebuilt[position] != EMPTY) {
+                position = (position + 1) & mask;
+            }
+            rebuilt[position] = slot;
+            used++;
+        }
+        idTable = rebuilt;
+        idTableUsed = used;
+    }
+
+    // Byte offset of a slot in a column of the given width; never overflows while capacity stays within MAX_ROWS
+    private static int at(int slot, int width) {
+        return Math.toIntExact((long) slot * width);
+    }
+
+    // Slots the columns have room for, and the arena's size in bytes; exposed for tests
+    int slotCapacity() {
+        return capacity;
+    }
+
+    int arenaCapacity() {
+        return arena.capacity();
+    }
+
+    int idTableLength() {
+        return idTable.length;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    // A cursor is the last slot served, so the next page starts one past it; that must still be a slot
+    private static int parseCursor(String cursor) {
+        int slot;
+        try {
+            slot = Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed page cursor " + cursor, e);
+        }
+        if (slot < 0 || slot == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Malformed page cursor " + cursor);
+        }
+        return slot;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.eshop.repository;
+
+import java.util.List;
+
+// One slice of a keyset-paginated listing; nextCursor is null on the last page
+public record Page<T>(List<T> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
\ No newline at end of file
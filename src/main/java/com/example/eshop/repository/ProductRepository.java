@@ -1,51 +1,51 @@
 package com.example.eshop.repository;
 
 import com.example.eshop.model.Product;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
-public class ProductRepository implements ProductRepositoryInterface {
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "eshop.product.storage", havingValue = "heap", matchIfMissing = true)
+public class ProductRepository extends EntityStore<Product> implements ProductRepositoryInterface {
 
-    private final List<Product> productData = new ArrayList<>();
+    static final String NAME_INDEX = "productName";
 
-    @Override
-    public Product create(Product product) {
-        if (product.getProductId() == null || product.getProductId().isEmpty()) {
-            product.setProductId(UUID.randomUUID().toString());
-        }
-        productData.add(product);
-        return product;
+    public ProductRepository() {
+        this(new AtomicLong());
     }
 
-    @Override
-    public List<Product> findAll() {
-        return new ArrayList<>(productData);
+    // Used by the sharded repository for each of its shards
+    ProductRepository(AtomicLong sequence) {
+        super(Product::getProductId, Product::setProductId, sequence);
+        addIndex(NAME_INDEX, Product::getProductName);
     }
 
     @Override
-    public Product findById(String id) {
-        return productData.stream()
-                .filter(product -> product.getProductId().equals(id))
-                .findFirst()
-                .orElse(null);
+    public List<Product> findByName(String productName) {
+        return findByIndex(NAME_INDEX, productName);
     }
 
+    // Applies a stock change atomically against the current row; refuses any change that would leave it
+    // below zero. Rows are copied rather than mutated so readers never observe a half-applied change.
     @Override
-    public Product update(Product updatedProduct) {
-        for (int i = 0; i < productData.size(); i++) {
-            if (productData.get(i).getProductId().equals(updatedProduct.getProductId())) {
-                productData.set(i, updatedProduct);
-                return updatedProduct;
-            }
+    public boolean adjustQuantity(String productId, int delta) {
+        if (productId == null) {
+            return false;
         }
-        return null;
-    }
-
-    @Override
-    public void deleteById(String id) {
-        productData.removeIf(product -> product.getProductId().equals(id));
+        return modify(productId, existing -> {
+            long quantity = (long) existing.getProductQuantity() + delta;
+            if (quantity < 0 || quantity > Integer.MAX_VALUE) {
+                return null;
+            }
+            Product adjusted = new Product();
+            adjusted.setProductId(existing.getProductId());
+            adjusted.setProductName(existing.getProductName());
+            adjusted.setProductQuantity((int) quantity);
+            return adjusted;
+        }) != null;
     }
 }
\ No newline at end of file
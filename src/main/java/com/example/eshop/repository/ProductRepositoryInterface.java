@@ -3,5 +3,9 @@ package com.example.eshop.repository;
 import com.example.eshop.model.Product;
 import com.example.eshop.repository.RepositoryInterface;
 
+import java.util.List;
+
 public interface ProductRepositoryInterface extends RepositoryInterface<Product> {
+    List<Product> findByName(String productName);
+    boolean adjustQuantity(String productId, int delta);
 }
\ No newline at end of file
@@ -1,11 +1,27 @@
 package com.example.eshop.repository;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 public interface RepositoryInterface<T> {
     T create(T item);
-    List<T> findAll();
+    // Stores every item as create would, waiting for durability once for the whole batch
+    void createAll(List<T> items);
+    Iterator<T> findAll();
+    // The rows findAll walks, in a form parallel streams can split; stores override it to split well
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(findAll(), Spliterator.NONNULL);
+    }
+    Page<T> findPage(String cursor, int limit);
     T findById(String id);
     T update(T item);
     void deleteById(String id);
+    long count();
+    // Moves forward on every committed change; read it before the rows it should describe
+    long version();
+    // Changes whenever the row does; 0 when there is no such row
+    long versionOf(String id);
+    void addListener(StoreListener<T> listener);
 }
\ No newline at end of file
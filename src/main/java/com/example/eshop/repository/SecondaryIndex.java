@@ -0,0 +1,69 @@
+package com.example.eshop.repository;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Hash index from an attribute value to the row keys (see EntityStore.rowKey) of the rows that carry it. Each
+// row also remembers the key it is filed under, since the previous item of an update may be the same
+// instance, already mutated.
+class SecondaryIndex<T> {
+
+    private final Function<T, ?> keyExtractor;
+    private final ConcurrentHashMap<Object, Set<Object>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Object> filed = new ConcurrentHashMap<>();
+
+    SecondaryIndex(Function<T, ?> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    Object keyOf(T item) {
+        return keyExtractor.apply(item);
+    }
+
+    boolean matches(T item, Object key) {
+        return Objects.equals(keyOf(item), key);
+    }
+
+    // Files the row under its current key, moving it off the key it was filed under before if that differs
+    void put(Object rowKey, T item) {
+        Object key = keyOf(item);
+        Object previous = key == null ? filed.remove(rowKey) : filed.put(rowKey, key);
+        if (Objects.equals(previous, key)) {
+            return;
+        }
+        if (previous != null) {
+            unfile(rowKey, previous);
+        }
+        if (key != null) {
+            entries.compute(key, (k, ids) -> {
+                Set<Object> result = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                result.add(rowKey);
+                return result;
+            });
+        }
+    }
+
+    void remove(Object rowKey) {
+        Object key = filed.remove(rowKey);
+        if (key != null) {
+            unfile(rowKey, key);
+        }
+    }
+
+    Set<Object> rowKeysFor(Object key) {
+        if (key == null) {
+            return Collections.emptySet();
+        }
+        return entries.getOrDefault(key, Collections.emptySet());
+    }
+
+    private void unfile(Object rowKey, Object key) {
+        entries.computeIfPresent(key, (k, ids) -> {
+            ids.remove(rowKey);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
\ No newline at end of file
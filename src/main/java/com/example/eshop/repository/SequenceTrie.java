@@ -0,0 +1,380 @@
+package com.example.eshop.repository;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Immutable map from non-negative long keys to values, as a bitmap-compressed 32-way trie on the key's
+ * bits. Nodes only allocate slots for children that exist, and because a node's children are ordered by
+ * key digit, walking the trie visits keys in ascending order. with and without copy the path to one key,
+ * O(log32 n) nodes, and share everything else with the original, so a writer can publish a new version by
+ * swapping one reference while readers keep walking the version they started with.
+ *
+ * Every node records how many values lie under it, which gives size in O(1) and lets spliterators split
+ * with exact sizes.
+ */
+final class SequenceTrie<T> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_SHIFT = 60;
+    private static final Node EMPTY_NODE = new Node(0, new Object[0], 0);
+    private static final SequenceTrie<?> EMPTY = new SequenceTrie<>(EMPTY_NODE, 0);
+
+    // Leaf nodes, at shift 0, hold values in their slots; every other node holds child nodes
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] slots;
+        private final long size;
+
+        private Node(int bitmap, Object[] slots, long size) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+            this.size = size;
+        }
+
+        private Object child(int digit) {
+            return slots[Integer.bitCount(bitmap & ((1 << digit) - 1))];
+        }
+    }
+
+    private final Node root;
+    private final int shift;
+
+    private SequenceTrie(Node root, int shift) {
+        this.root = root;
+        this.shift = shift;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> SequenceTrie<T> empty() {
+        return (SequenceTrie<T>) EMPTY;
+    }
+
+    long size() {
+        return root.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(long key) {
+        if (key < 0 || !covers(key, shift)) {
+            return null;
+        }
+        Object current = root;
+        for (int level = shift; level >= 0; level -= BITS) {
+            Node node = (Node) current;
+            int digit = digit(key, level);
+            if ((node.bitmap & (1 << digit)) == 0) {
+                return null;
+            }
+            current = node.child(digit);
+        }
+        return (T) current;
+    }
+
+    SequenceTrie<T> with(long key, T value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must not be negative: " + key);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Values must not be null");
+        }
+        Node grown = root;
+        int grownShift = shift;
+        while (!covers(key, grownShift)) {
+            grown = grown.size == 0 ? grown : new Node(1, new Object[] {grown}, grown.size);
+            grownShift += BITS;
+        }
+        return new SequenceTrie<>(put(grown, grownShift, key, value), grownShift);
+    }
+
+    SequenceTrie<T> without(long key) {
+        if (key < 0 || !covers(key, shift)) {
+            return this;
+        }
+        Node removed = remove(root, shift, key);
+        return removed == root ? this : new SequenceTrie<>(removed, shift);
+    }
+
+    // Walks the values in ascending key order
+    Iterator<T> values() {
+        Cursor<T> cursor = cursorAfter(-1);
+        return new Iterator<>() {
+            private boolean ready;
+            private boolean more;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    more = cursor.advance();
+                    ready = true;
+                }
+                return more;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return cursor.value();
+            }
+        };
+    }
+
+    // A cursor over the keys strictly greater than after, in ascending order; -1 starts from the first key
+    Cursor<T> cursorAfter(long after) {
+        Cursor<T> cursor = new Cursor<>(root, shift, 0);
+        if (after == Long.MAX_VALUE || after >= 0 && !covers(after + 1, shift)) {
+            cursor.level = -1;
+        } else if (after >= 0) {
+            cursor.seek(after + 1);
+        }
+        return cursor;
+    }
+
+    Spliterator<T> spliterator() {
+        return new TrieSpliterator<>(root, shift, 0, root.bitmap);
+    }
+
+    /**
+     * Position in an in-order walk: advance moves to the next key and key and value read it, so walking
+     * a trie allocates nothing per row.
+     */
+    static final class Cursor<T> {
+        private final int leafLevel;
+        private final int rootShift;
+        private final Node[] nodes;
+        private final long[] prefixes;
+        // Digits of each node on the current path that are still to be visited
+        private final int[] remaining;
+        private int level;
+        private long key;
+        private Object value;
+
+        private Cursor(Node root, int rootShift, long prefix) {
+            this(root, rootShift, prefix, root.bitmap);
+        }
+
+        private Cursor(Node root, int rootShift, long prefix, int digits) {
+            this.rootShift = rootShift;
+            this.leafLevel = rootShift / BITS;
+            this.nodes = new Node[leafLevel + 1];
+            this.prefixes = new long[leafLevel + 1];
+            this.remaining = new int[leafLevel + 1];
+            nodes[0] = root;
+            prefixes[0] = prefix;
+            remaining[0] = digits;
+        }
+
+        boolean advance() {
+            while (level >= 0) {
+                int digits = remaining[level];
+                if (digits == 0) {
+                    level--;
+                    continue;
+                }
+                int digit = Integer.numberOfTrailingZeros(digits);
+                remaining[level] = digits & (digits - 1);
+                Object child = nodes[level].child(digit);
+                long childKey = prefixes[level] | (long) digit << (rootShift - level * BITS);
+                if (level == leafLevel) {
+                    key = childKey;
+                    value = child;
+                    return true;
+                }
+                level++;
+                nodes[level] = (Node) child;
+                prefixes[level] = childKey;
+                remaining[level] = ((Node) child).bitmap;
+            }
+            return false;
+        }
+
+        long key() {
+            return key;
+        }
+
+        @SuppressWarnings("unchecked")
+        T value() {
+            return (T) value;
+        }
+
+        // Positions the cursor so the next advance lands on the first key at or after from. Above the leaves
+        // only the digits past from's are left to visit, since the path for from's own digit is entered here.
+        private void seek(long from) {
+            for (level = 0; ; level++) {
+                Node node = nodes[level];
+                int digit = digit(from, rootShift - level * BITS);
+                if (level == leafLevel) {
+                    remaining[level] = node.bitmap & (-1 << digit);
+                    return;
+                }
+                remaining[level] = node.bitmap & (digit == MASK ? 0 : -1 << (digit + 1));
+                if ((node.bitmap & (1 << digit)) == 0) {
+                    return;
+                }
+                nodes[level + 1] = (Node) node.child(digit);
+                prefixes[level + 1] = prefixes[level] | (long) digit << (rootShift - level * BITS);
+            }
+        }
+    }
+
+    // Covers the given digits of one node; splits them in half, then descends into a single child
+    private static final class TrieSpliterator<T> implements Spliterator<T> {
+        private Node node;
+        private int shift;
+        private long prefix;
+        private int digits;
+        private long size;
+        private Cursor<T> cursor;
+
+        private TrieSpliterator(Node node, int shift, long prefix, int digits) {
+            this.node = node;
+            this.shift = shift;
+            this.prefix = prefix;
+            this.digits = digits;
+            this.size = sizeOf(node, shift, digits);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (cursor == null) {
+                cursor = new Cursor<>(node, shift, prefix, digits);
+            }
+            if (!cursor.advance()) {
+                return false;
+            }
+            size--;
+            action.accept(cursor.value());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (cursor == null) {
+                cursor = new Cursor<>(node, shift, prefix, digits);
+            }
+            while (cursor.advance()) {
+                action.accept(cursor.value());
+            }
+            size = 0;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (cursor != null) {
+                return null;
+            }
+            while (Integer.bitCount(digits) == 1 && shift > 0) {
+                int digit = Integer.numberOfTrailingZeros(digits);
+                prefix |= (long) digit << shift;
+                node = (Node) node.child(digit);
+                shift -= BITS;
+                digits = node.bitmap;
+            }
+            int count = Integer.bitCount(digits);
+            if (count < 2) {
+                return null;
+            }
+            int suffix = digits;
+            for (int i = 0; i < count / 2; i++) {
+                suffix &= suffix - 1;
+            }
+            TrieSpliterator<T> lower = new TrieSpliterator<>(node, shift, prefix, digits ^ suffix);
+            digits = suffix;
+            size -= lower.size;
+            return lower;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+
+        private static long sizeOf(Node node, int shift, int digits) {
+            if (shift == 0) {
+                return Integer.bitCount(digits);
+            }
+            long size = 0;
+            for (int rest = digits; rest != 0; rest &= rest - 1) {
+                size += ((Node) node.child(Integer.numberOfTrailingZeros(rest))).size;
+            }
+            return size;
+        }
+    }
+
+    private static Node put(Node node, int shift, long key, Object value) {
+        int digit = digit(key, shift);
+        int bit = 1 << digit;
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        boolean present = (node.bitmap & bit) != 0;
+        Object child;
+        long delta;
+        if (shift == 0) {
+            child = value;
+            delta = present ? 0 : 1;
+        } else {
+            Node previous = present ? (Node) node.slots[index] : EMPTY_NODE;
+            Node updated = put(previous, shift - BITS, key, value);
+            child = updated;
+            delta = updated.size - previous.size;
+        }
+        if (present) {
+            Object[] slots = node.slots.clone();
+            slots[index] = child;
+            return new Node(node.bitmap, slots, node.size + delta);
+        }
+        Object[] slots = new Object[node.slots.length + 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        slots[index] = child;
+        System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+        return new Node(node.bitmap | bit, slots, node.size + delta);
+    }
+
+    // Returns the node itself when the key is absent, and drops children that end up empty
+    private static Node remove(Node node, int shift, long key) {
+        int digit = digit(key, shift);
+        int bit = 1 << digit;
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if (shift > 0) {
+            Node child = (Node) node.slots[index];
+            Node updated = remove(child, shift - BITS, key);
+            if (updated == child) {
+                return node;
+            }
+            if (updated.size > 0) {
+                Object[] slots = node.slots.clone();
+                slots[index] = updated;
+                return new Node(node.bitmap, slots, node.size - 1);
+            }
+        }
+        if (node.bitmap == bit) {
+            return EMPTY_NODE;
+        }
+        Object[] slots = new Object[node.slots.length - 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        System.arraycopy(node.slots, index + 1, slots, index, slots.length - index);
+        return new Node(node.bitmap & ~bit, slots, node.size - 1);
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) (key >>> shift) & MASK;
+    }
+
+    // Whether a trie whose root sits at this shift has room for the key
+    private static boolean covers(long key, int shift) {
+        return shift >= MAX_SHIFT || key >>> (shift + BITS) == 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.Car;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Car rows hash-partitioned over eshop.car.shards stores; enabled with eshop.car.storage=sharded
+@Repository
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "eshop.car.storage", havingValue = "sharded")
+public class ShardedCarRepository extends ShardedStore<Car, CarRepository> implements CarRepositoryInterface {
+
+    public ShardedCarRepository(@Value("${eshop.car.shards:16}") int shards) {
+        super(shards, CarRepository::new, Car::getCarId, Car::setCarId);
+    }
+
+    @Override
+    public List<Car> findByColor(String carColor) {
+        return findByIndex(CarRepository.COLOR_INDEX, carColor);
+    }
+
+    @Override
+    public List<Car> findByName(String carName) {
+        return findByIndex(CarRepository.NAME_INDEX, carName);
+    }
+
+    @Override
+    public boolean adjustQuantity(String carId, int delta) {
+        return carId != null && shardFor(carId).adjustQuantity(carId, delta);
+    }
+}
\ No newline at end of file
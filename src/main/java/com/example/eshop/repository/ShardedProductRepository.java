@@ -0,0 +1,31 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Product rows hash-partitioned over eshop.product.shards stores; enabled with eshop.product.storage=sharded
+@Repository
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "eshop.product.storage", havingValue = "sharded")
+public class ShardedProductRepository extends ShardedStore<Product, ProductRepository>
+        implements ProductRepositoryInterface {
+
+    public ShardedProductRepository(@Value("${eshop.product.shards:16}") int shards) {
+        super(shards, ProductRepository::new, Product::getProductId, Product::setProductId);
+    }
+
+    @Override
+    public List<Product> findByName(String productName) {
+        return findByIndex(ProductRepository.NAME_INDEX, productName);
+    }
+
+    @Override
+    public boolean adjustQuantity(String productId, int delta) {
+        return productId != null && shardFor(productId).adjustQuantity(productId, delta);
+    }
+}
\ No newline at end of file
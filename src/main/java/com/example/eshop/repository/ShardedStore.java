@@ -0,0 +1,309 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.CompactId;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Splits one entity's rows across independently locked EntityStore shards by id hash. Point operations go
+ * to the shard that owns the id, so writers to different shards share no map, order trie or index. Index
+ * queries and batch inserts fan out over the shards on the common fork/join pool; listings merge the shards'
+ * rows lazily. Everything merges on the insertion sequence, which all shards draw from one counter, so
+ * results come back in the same order an unsharded store would give.
+ */
+public class ShardedStore<T, S extends EntityStore<T>> implements RepositoryInterface<T> {
+
+    private final List<S> shards;
+    private final Function<T, String> idExtractor;
+    private final BiConsumer<T, String> idAssigner;
+
+    public ShardedStore(int shardCount, Function<AtomicLong, S> shardFactory,
+                        Function<T, String> idExtractor, BiConsumer<T, String> idAssigner) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        AtomicLong sequence = new AtomicLong();
+        List<S> created = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            created.add(shardFactory.apply(sequence));
+        }
+        this.shards = List.copyOf(created);
+        this.idExtractor = idExtractor;
+        this.idAssigner = idAssigner;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public void addListener(StoreListener<T> listener) {
+        for (S shard : shards) {
+            shard.addListener(listener);
+        }
+    }
+
+    @Override
+    public T create(T item) {
+        return shardFor(assignId(item)).create(item);
+    }
+
+    // Each shard stores its part of the batch in parallel with the others, keeping the batch's order within it
+    @Override
+    public void createAll(List<T> items) {
+        List<List<T>> parts = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            parts.get(shardIndex(assignId(item))).add(item);
+        }
+        IntStream.range(0, shards.size()).parallel()
+                .filter(i -> !parts.get(i).isEmpty())
+                .forEach(i -> shards.get(i).createAll(parts.get(i)));
+    }
+
+    // Streams a k-way merge of the shards' snapshots rather than collecting them all first
+    @Override
+    public Iterator<T> findAll() {
+        Merge<T> rows = mergedAfter(-1);
+        return new Iterator<>() {
+            private boolean ready;
+            private boolean more;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    more = rows.advance();
+                    ready = true;
+                }
+                return more;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return rows.value();
+            }
+        };
+    }
+
+    // Splits between shards first, then within a shard, so a parallel scan never has to merge
+    @Override
+    public Spliterator<T> spliterator() {
+        List<Spliterator<T>> parts = new ArrayList<>(shards.size());
+        for (S shard : shards) {
+            parts.add(shard.spliterator());
+        }
+        return new ShardSpliterator<>(parts, 0, parts.size());
+    }
+
+    // Merges shard heads lazily: a page only reads limit + 1 rows in all, wherever they live. Forking here
+    // would cost more than the few trie steps each shard contributes.
+    @Override
+    public Page<T> findPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        long after = cursor == null || cursor.isEmpty() ? -1 : EntityStore.parseCursor(cursor);
+        Merge<T> rows = mergedAfter(after);
+        List<T> items = new ArrayList<>(Math.min(limit, 256));
+        long lastSequence = 0;
+        while (rows.advance()) {
+            if (items.size() == limit) {
+                return new Page<>(items, Long.toString(lastSequence));
+            }
+            items.add(rows.value());
+            lastSequence = rows.key();
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public T findById(String id) {
+        return id == null ? null : shardFor(id).findById(id);
+    }
+
+    @Override
+    public T update(T item) {
+        String itemId = idExtractor.apply(item);
+        return itemId == null ? null : shardFor(itemId).update(item);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (id != null) {
+            shardFor(id).deleteById(id);
+        }
+    }
+
+    // Per-shard counts are O(1), so summing them in place is cheaper than forking
+    @Override
+    public long count() {
+        long count = 0;
+        for (S shard : shards) {
+            count += shard.count();
+        }
+        return count;
+    }
+
+    // Each shard's version only moves forward, so their sum only stays put while none of them moves
+    @Override
+    public long version() {
+        long version = 0;
+        for (S shard : shards) {
+            version += shard.version();
+        }
+        return version;
+    }
+
+    @Override
+    public long versionOf(String id) {
+        return id == null ? 0 : shardFor(id).versionOf(id);
+    }
+
+    protected final S shardFor(String id) {
+        return shards.get(shardIndex(id));
+    }
+
+    // Rows whose indexed attribute equals the key across all shards, in insertion order
+    protected final List<T> findByIndex(String name, Object key) {
+        return new ArrayList<>(merge(shard -> shard.findByIndexOrdered(name, key)).values());
+    }
+
+    // Every shard's rows after the given sequence, or all of them for -1, in one sequence order. Each shard
+    // is read from its own snapshot, taken here, so the merge is consistent per shard but not across them.
+    private Merge<T> mergedAfter(long after) {
+        PriorityQueue<SequenceTrie.Cursor<T>> heads = new PriorityQueue<>(shards.size(),
+                Comparator.comparingLong(SequenceTrie.Cursor::key));
+        for (S shard : shards) {
+            SequenceTrie.Cursor<T> rows = shard.snapshot().cursorAfter(after);
+            if (rows.advance()) {
+                heads.add(rows);
+            }
+        }
+        return new Merge<>(heads);
+    }
+
+    // Runs the query on every shard in parallel and merges the answers by sequence
+    private NavigableMap<Long, T> merge(Function<S, NavigableMap<Long, T>> query) {
+        return shards.parallelStream()
+                .map(query)
+                .collect(TreeMap::new, TreeMap::putAll, TreeMap::putAll);
+    }
+
+    // Ids are settled here rather than in the shard, since the id decides which shard stores the row
+    private String assignId(T item) {
+        String itemId = idExtractor.apply(item);
+        if (itemId == null || itemId.isEmpty()) {
+            itemId = CompactId.generate().toString();
+            idAssigner.accept(item, itemId);
+        }
+        return itemId;
+    }
+
+    private int shardIndex(String id) {
+        int hash = id.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.size());
+    }
+
+    // Cursor over the merged shards: always holds the shard whose head has the smallest sequence
+    private static final class Merge<T> {
+        private final PriorityQueue<SequenceTrie.Cursor<T>> heads;
+        private SequenceTrie.Cursor<T> current;
+
+        private Merge(PriorityQueue<SequenceTrie.Cursor<T>> heads) {
+            this.heads = heads;
+        }
+
+        private boolean advance() {
+            if (current != null && current.advance()) {
+                heads.add(current);
+            }
+            current = heads.poll();
+            return current != null;
+        }
+
+        private long key() {
+            return current.key();
+        }
+
+        private T value() {
+            return current.value();
+        }
+    }
+
+    private static final class ShardSpliterator<T> implements Spliterator<T> {
+        private final List<Spliterator<T>> parts;
+        private final int to;
+        private int from;
+
+        private ShardSpliterator(List<Spliterator<T>> parts, int from, int to) {
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            for (; from < to; from++) {
+                if (parts.get(from).tryAdvance(action)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; from < to; from++) {
+                parts.get(from).forEachRemaining(action);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                Spliterator<T> prefix = new ShardSpliterator<>(parts, from, middle);
+                from = middle;
+                return prefix;
+            }
+            return from < to ? parts.get(from).trySplit() : null;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = 0;
+            for (int i = from; i < to; i++) {
+                long part = parts.get(i).estimateSize();
+                if (part == Long.MAX_VALUE || size + part < 0) {
+                    return Long.MAX_VALUE;
+                }
+                size += part;
+            }
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.eshop.repository;
+
+// Notified of every mutation while the row is still locked, so events for one id arrive in commit order
+public interface StoreListener<T> {
+    // previous is null when the row is new
+    void onSave(String id, T previous, T current);
+    void onDelete(String id, T previous);
+
+    // Called after onSave or onDelete once the write is visible to readers and the row lock is released
+    default void onCommitted(String id) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.example.eshop.repository.jdbc;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pool of JDBC connections, each with its own prepared statement cache, so a statement is parsed
+ * once per connection rather than once per call. Connections are opened on demand up to the pool size and
+ * a borrower waits when all of them are in use. A connection whose work failed is checked before it goes
+ * back, and replaced if the database dropped it; either way its cached statements are dropped, so a batch
+ * the failed work had queued is never executed by the next borrower.
+ */
+public class ConnectionPool implements Closeable {
+
+    @FunctionalInterface
+    public interface Work<R> {
+        R run(PooledConnection connection) throws SQLException;
+    }
+
+    public static final class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        // Cached statements stay open with their connection; callers set every parameter on each use
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        private void discardStatements() {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // Closing also drops its queued batch; a statement that cannot close is dropped anyway
+                }
+            }
+            statements.clear();
+        }
+    }
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int size;
+    private final Duration borrowTimeout;
+    private final BlockingQueue<PooledConnection> idle;
+    private final AtomicInteger opened = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ConnectionPool(JdbcProperties properties) {
+        if (properties.poolSize() < 1) {
+            throw new IllegalArgumentException("Connection pool size must be at least 1");
+        }
+        this.url = properties.url();
+        this.username = properties.username();
+        this.password = properties.password();
+        this.size = properties.poolSize();
+        this.borrowTimeout = properties.borrowTimeout();
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    public <R> R execute(Work<R> work) {
+        PooledConnection pooled = borrow();
+        boolean healthy = true;
+        try {
+            return work.run(pooled);
+        } catch (SQLException e) {
+            pooled.discardStatements();
+            healthy = isValid(pooled);
+            throw new UncheckedSQLException("Statement failed on " + url, e);
+        } catch (RuntimeException | Error e) {
+            pooled.discardStatements();
+            throw e;
+        } finally {
+            release(pooled, healthy);
+        }
+    }
+
+    // Runs the work as one transaction, rolled back if it throws
+    public <R> R transaction(Work<R> work) {
+        return execute(pooled -> {
+            Connection connection = pooled.connection;
+            connection.setAutoCommit(false);
+            try {
+                R result = work.run(pooled);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    private PooledConnection borrow() {
+        if (closed) {
+            throw new IllegalStateException("Connection pool for " + url + " is closed");
+        }
+        PooledConnection pooled = idle.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        if (opened.incrementAndGet() <= size) {
+            try {
+                return new PooledConnection(DriverManager.getConnection(url, username, password));
+            } catch (SQLException e) {
+                opened.decrementAndGet();
+                throw new UncheckedSQLException("Could not connect to " + url, e);
+            }
+        }
+        opened.decrementAndGet();
+        try {
+            pooled = idle.poll(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a connection to " + url, e);
+        }
+        if (pooled == null) {
+            throw new IllegalStateException("No connection to " + url + " free after " + borrowTimeout);
+        }
+        return pooled;
+    }
+
+    private void release(PooledConnection pooled, boolean healthy) {
+        if (healthy && !closed) {
+            idle.offer(pooled);
+            return;
+        }
+        opened.decrementAndGet();
+        closeQuietly(pooled);
+    }
+
+    private static boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.connection.isValid(1);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(PooledConnection pooled) {
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            // Already unusable; nothing more to release
+        }
+    }
+
+    // Connections still borrowed are closed as they come back
+    @Override
+    public void close() {
+        closed = true;
+        for (PooledConnection pooled = idle.poll(); pooled != null; pooled = idle.poll()) {
+            opened.decrementAndGet();
+            closeQuietly(pooled);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.eshop.repository.jdbc;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.repository.CarRepositoryInterface;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+public class JdbcCarRepository extends JdbcEntityStore<Car> implements CarRepositoryInterface {
+
+    private static final String NAME = "car_name";
+    private static final String COLOR = "car_color";
+    private static final String QUANTITY = "car_quantity";
+
+    public JdbcCarRepository(ConnectionPool pool, JdbcProperties.WriteBehind writeBehind) {
+        super(pool, "car", List.of(new Column(NAME, "VARCHAR"), new Column(COLOR, "VARCHAR"),
+                        new Column(QUANTITY, "INT NOT NULL")),
+                Car::getCarId, Car::setCarId, writeBehind);
+        addIndex(NAME);
+        addIndex(COLOR);
+    }
+
+    @Override
+    protected void bind(PreparedStatement statement, int index, Car car) throws SQLException {
+        statement.setString(index, car.getCarName());
+        statement.setString(index + 1, car.getCarColor());
+        statement.setInt(index + 2, car.getCarQuantity());
+    }
+
+    @Override
+    protected Car read(ResultSet row) throws SQLException {
+        Car car = new Car();
+        car.setCarId(row.getString("id"));
+        car.setCarName(row.getString(NAME));
+        car.setCarColor(row.getString(COLOR));
+        car.setCarQuantity(row.getInt(QUANTITY));
+        return car;
+    }
+
+    @Override
+    public List<Car> findByColor(String carColor) {
+        return findByIndex(COLOR, carColor, Car::getCarColor);
+    }
+
+    @Override
+    public List<Car> findByName(String carName) {
+        return findByIndex(NAME, carName, Car::getCarName);
+    }
+
+    // Same contract as the in-memory repository: atomic per row, never below zero
+    @Override
+    public boolean adjustQuantity(String carId, int delta) {
+        if (carId == null) {
+            return false;
+        }
+        return modify(carId, existing -> {
+            long quantity = (long) existing.getCarQuantity() + delta;
+            if (quantity < 0 || quantity > Integer.MAX_VALUE) {
+                return null;
+            }
+            Car adjusted = new Car();
+            adjusted.setCarId(existing.getCarId());
+            adjusted.setCarName(existing.getCarName());
+            adjusted.setCarColor(existing.getCarColor());
+            adjusted.setCarQuantity((int) quantity);
+            return adjusted;
+        }) != null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.eshop.repository.jdbc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// Replaces the in-memory repositories when the "jdbc" profile is active; the driver must be on the classpath
+@Configuration
+@Profile("jdbc")
+@EnableConfigurationProperties(JdbcProperties.class)
+public class JdbcConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ConnectionPool connectionPool(JdbcProperties properties) {
+        return new ConnectionPool(properties);
+    }
+
+    // Repositories close before the pool they depend on, so their last flush still has connections
+    @Bean(destroyMethod = "close")
+    public JdbcProductRepository jdbcProductRepository(ConnectionPool connectionPool, JdbcProperties properties,
+                                                       MeterRegistry registry) {
+        JdbcProductRepository repository = new JdbcProductRepository(connectionPool, properties.writeBehind());
+        registerMetrics(repository, "product", registry);
+        return repository;
+    }
+
+    @Bean(destroyMethod = "close")
+    public JdbcCarRepository jdbcCarRepository(ConnectionPool connectionPool, JdbcProperties properties,
+                                               MeterRegistry registry) {
+        JdbcCarRepository repository = new JdbcCarRepository(connectionPool, properties.writeBehind());
+        registerMetrics(repository, "car", registry);
+        return repository;
+    }
+
+    private static void registerMetrics(JdbcEntityStore<?> repository, String entity, MeterRegistry registry) {
+        FunctionCounter.builder("eshop.jdbc.writes.coalesced", repository, JdbcEntityStore::coalescedWrites)
+                .description("Buffered updates replaced by a later update before being written")
+                .tag("entity", entity)
+                .register(registry);
+        Gauge.builder("eshop.jdbc.writes.pending", repository, JdbcEntityStore::pendingWrites)
+                .description("Buffered updates not yet written to the database")
+                .tag("entity", entity)
+                .register(registry);
+        FunctionCounter.builder("eshop.jdbc.writes.failed", repository, JdbcEntityStore::failedFlushes)
+                .description("Background write-behind flushes that failed and were left to retry")
+                .tag("entity", entity)
+                .register(registry);
+    }
+}
\ No newline at end of file
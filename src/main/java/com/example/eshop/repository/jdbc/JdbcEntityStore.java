@@ -0,0 +1,554 @@
+package com.example.eshop.repository.jdbc;
+
+import com.example.eshop.model.CompactId;
+import com.example.eshop.repository.Page;
+import com.example.eshop.repository.RepositoryInterface;
+import com.example.eshop.repository.StoreListener;
+
+import java.io.Closeable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Generic store on an embedded SQL database, with the same contract as the in-memory EntityStore. Each
+ * entity is one table keyed by an identity sequence, which gives findAll and keyset pages their insertion
+ * order, plus a unique id and a row_version stamped from a monotonic counter. Mutations of one id are
+ * serialized by a striped lock, so listeners still see a row's changes in commit order, and createAll
+ * writes a whole batch as one transaction of batched inserts and updates.
+ *
+ * With write-behind enabled, updates to existing rows only land in a buffer and are flushed in batches
+ * later; every read consults the buffer before the table. An UPDATE only applies over an older
+ * row_version, so a flush that arrives after a newer synchronous write, or after a delete, changes nothing.
+ */
+public abstract class JdbcEntityStore<T> implements RepositoryInterface<T>, Closeable {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int FETCH_SIZE = 256;
+
+    // Column names and types come from the subclass, never from a request
+    protected record Column(String name, String type) {
+    }
+
+    private final ConnectionPool pool;
+    private final String table;
+    private final List<Column> columns;
+    private final Function<T, String> idExtractor;
+    private final BiConsumer<T, String> idAssigner;
+    private final Set<String> indexedColumns = new HashSet<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicLong rowStamps = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final List<StoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final WriteBehindBuffer<T> writeBehind;
+
+    private final String selectColumns;
+    private final String insertSql;
+    private final String updateSql;
+    private final String deleteSql;
+    private final String selectByIdSql;
+    private final String versionOfSql;
+    private final String firstPageSql;
+    private final String nextPageSql;
+
+    protected JdbcEntityStore(ConnectionPool pool, String table, List<Column> columns,
+                              Function<T, String> idExtractor, BiConsumer<T, String> idAssigner,
+                              JdbcProperties.WriteBehind writeBehind) {
+        this.pool = pool;
+        this.table = table;
+        this.columns = List.copyOf(columns);
+        this.idExtractor = idExtractor;
+        this.idAssigner = idAssigner;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        String names = columns.stream().map(Column::name).collect(Collectors.joining(", "));
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        String assignments = columns.stream().map(column -> column.name() + " = ?").collect(Collectors.joining(", "));
+        this.selectColumns = "SELECT seq, id, " + names + ", row_version FROM " + table;
+        this.insertSql = "INSERT INTO " + table + " (id, " + names + ", row_version) VALUES (?, " + placeholders + ", ?)";
+        this.updateSql = "UPDATE " + table + " SET " + assignments + ", row_version = ? WHERE id = ? AND row_version < ?";
+        this.deleteSql = "DELETE FROM " + table + " WHERE id = ?";
+        this.selectByIdSql = selectColumns + " WHERE id = ?";
+        this.versionOfSql = "SELECT row_version FROM " + table + " WHERE id = ?";
+        this.firstPageSql = selectColumns + " ORDER BY seq LIMIT ?";
+        this.nextPageSql = selectColumns + " WHERE seq > ? ORDER BY seq LIMIT ?";
+
+        String definitions = columns.stream().map(column -> column.name() + " " + column.type())
+                .collect(Collectors.joining(", "));
+        long stored = pool.execute(connection -> {
+            try (Statement statement = connection.connection().createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + table
+                        + " (seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, id VARCHAR(64) NOT NULL UNIQUE, "
+                        + definitions + ", row_version BIGINT NOT NULL)");
+                try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(row_version), 0) FROM " + table)) {
+                    result.next();
+                    return result.getLong(1);
+                }
+            }
+        });
+        // Stamps must keep rising across restarts, or a buffered write could lose to a row written earlier
+        rowStamps.set(stored);
+        version.set(stored);
+
+        this.writeBehind = writeBehind != null && writeBehind.enabled()
+                ? new WriteBehindBuffer<>(table, this::writePending, writeBehind.flushInterval(), writeBehind.batchSize())
+                : null;
+    }
+
+    // Binds the entity's columns, in declaration order, starting at parameter index
+    protected abstract void bind(PreparedStatement statement, int index, T item) throws SQLException;
+
+    // Builds an entity from the id and declared columns of the current result row
+    protected abstract T read(ResultSet row) throws SQLException;
+
+    // Declares a secondary index on one of the entity's columns for findByIndex
+    protected final void addIndex(String column) {
+        if (columns.stream().noneMatch(declared -> declared.name().equals(column))) {
+            throw new IllegalArgumentException("Unknown column " + column);
+        }
+        pool.execute(connection -> {
+            try (Statement statement = connection.connection().createStatement()) {
+                return statement.execute(
+                        "CREATE INDEX IF NOT EXISTS " + table + "_" + column + " ON " + table + " (" + column + ")");
+            }
+        });
+        indexedColumns.add(column);
+    }
+
+    @Override
+    public void addListener(StoreListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public T create(T item) {
+        createAll(List.of(item));
+        return item;
+    }
+
+    // Inserts new ids and overwrites existing ones in a single transaction, always synchronously
+    @Override
+    public void createAll(List<T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(items.size());
+        Set<String> generated = new HashSet<>();
+        for (T item : items) {
+            String itemId = idExtractor.apply(item);
+            if (itemId == null || itemId.isEmpty()) {
+                itemId = CompactId.generate().toString();
+                idAssigner.accept(item, itemId);
+                generated.add(itemId);
+            }
+            ids.add(itemId);
+        }
+        List<ReentrantLock> held = lockAll(ids);
+        try {
+            List<T> previous = new ArrayList<>(items.size());
+            pool.transaction(connection -> {
+                Map<String, T> staged = new HashMap<>();
+                PreparedStatement inserts = null;
+                PreparedStatement updates = null;
+                for (int i = 0; i < items.size(); i++) {
+                    String id = ids.get(i);
+                    T item = items.get(i);
+                    T existing;
+                    if (staged.containsKey(id)) {
+                        existing = staged.get(id);
+                    } else {
+                        // A freshly generated id cannot be in the table yet, so skip the lookup
+                        existing = generated.contains(id) ? null : load(connection, id);
+                    }
+                    long stamp = rowStamps.incrementAndGet();
+                    if (existing == null && !staged.containsKey(id)) {
+                        inserts = inserts == null ? connection.prepare(insertSql) : inserts;
+                        bindInsert(inserts, id, item, stamp);
+                        inserts.addBatch();
+                    } else {
+                        updates = updates == null ? connection.prepare(updateSql) : updates;
+                        bindUpdate(updates, id, item, stamp);
+                        updates.addBatch();
+                    }
+                    previous.add(existing);
+                    staged.put(id, item);
+                }
+                // Inserts first, so updates of an id inserted earlier in the same batch find their row
+                if (inserts != null) {
+                    inserts.executeBatch();
+                }
+                if (updates != null) {
+                    updates.executeBatch();
+                }
+                return null;
+            });
+            for (int i = 0; i < items.size(); i++) {
+                if (writeBehind != null) {
+                    writeBehind.discard(ids.get(i));
+                }
+                notifySave(ids.get(i), previous.get(i), items.get(i));
+            }
+            version.addAndGet(items.size());
+        } finally {
+            unlockAll(held);
+        }
+        for (String id : ids) {
+            notifyCommitted(id);
+        }
+    }
+
+    @Override
+    public Iterator<T> findAll() {
+        return new Iterator<>() {
+            private Page<T> page = findPage(null, FETCH_SIZE);
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == page.items().size() && page.hasNext()) {
+                    page = findPage(page.nextCursor(), FETCH_SIZE);
+                    next = 0;
+                }
+                return next < page.items().size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.items().get(next++);
+            }
+        };
+    }
+
+    // Keyset pagination on the identity sequence; one extra row tells whether another page follows
+    @Override
+    public Page<T> findPage(String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        boolean first = cursor == null || cursor.isEmpty();
+        long after = first ? 0 : parseCursor(cursor);
+        return pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare(first ? firstPageSql : nextPageSql);
+            int index = 1;
+            if (!first) {
+                statement.setLong(index++, after);
+            }
+            statement.setInt(index, limit + 1);
+            List<T> items = new ArrayList<>(Math.min(limit, FETCH_SIZE));
+            long lastSequence = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    if (items.size() == limit) {
+                        return new Page<>(items, Long.toString(lastSequence));
+                    }
+                    lastSequence = rows.getLong("seq");
+                    items.add(overlay(rows));
+                }
+            }
+            return new Page<>(items, null);
+        });
+    }
+
+    @Override
+    public T findById(String id) {
+        if (id == null) {
+            return null;
+        }
+        if (writeBehind != null) {
+            WriteBehindBuffer.Pending<T> pending = writeBehind.get(id);
+            if (pending != null) {
+                return pending.item();
+            }
+        }
+        return pool.execute(connection -> select(connection, id));
+    }
+
+    @Override
+    public T update(T item) {
+        String itemId = idExtractor.apply(item);
+        if (itemId == null) {
+            return null;
+        }
+        return modify(itemId, existing -> item);
+    }
+
+    // Replaces a row with change(current) under that id's lock. Returns the new item, or null when the row
+    // is absent or change returns null. With write-behind on, the write itself happens on the next flush.
+    protected final T modify(String id, UnaryOperator<T> change) {
+        ReentrantLock lock = lockFor(id);
+        T item;
+        lock.lock();
+        try {
+            T existing = findById(id);
+            if (existing == null) {
+                return null;
+            }
+            item = change.apply(existing);
+            if (item == null) {
+                return null;
+            }
+            long stamp = rowStamps.incrementAndGet();
+            if (writeBehind != null) {
+                writeBehind.put(id, item, stamp);
+            } else {
+                pool.execute(connection -> {
+                    PreparedStatement statement = connection.prepare(updateSql);
+                    bindUpdate(statement, id, item, stamp);
+                    return statement.executeUpdate();
+                });
+            }
+            notifySave(id, existing, item);
+            version.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+        notifyCommitted(id);
+        return item;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (id == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            T existing = findById(id);
+            if (existing == null) {
+                return;
+            }
+            pool.execute(connection -> {
+                PreparedStatement statement = connection.prepare(deleteSql);
+                statement.setString(1, id);
+                return statement.executeUpdate();
+            });
+            // Only after the row is gone, so no reader falls back to an older stored copy meanwhile
+            if (writeBehind != null) {
+                writeBehind.discard(id);
+            }
+            for (StoreListener<T> listener : listeners) {
+                listener.onDelete(id, existing);
+            }
+            version.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+        notifyCommitted(id);
+    }
+
+    // Only updates are ever buffered, so the table alone knows how many rows exist
+    @Override
+    public long count() {
+        return pool.execute(connection -> {
+            try (ResultSet result = connection.prepare("SELECT COUNT(*) FROM " + table).executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        });
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public long versionOf(String id) {
+        if (id == null) {
+            return 0;
+        }
+        if (writeBehind != null) {
+            WriteBehindBuffer.Pending<T> pending = writeBehind.get(id);
+            if (pending != null) {
+                return pending.version();
+            }
+        }
+        return pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare(versionOfSql);
+            statement.setString(1, id);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getLong(1) : 0L;
+            }
+        });
+    }
+
+    // Rows whose indexed column equals the value, in insertion order. Buffered updates may have moved rows
+    // in or out of the match, so they are flushed before the query runs.
+    protected List<T> findByIndex(String column, Object value, Function<T, ?> attribute) {
+        if (!indexedColumns.contains(column)) {
+            throw new IllegalArgumentException("Unknown index " + column);
+        }
+        flush();
+        return pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare(selectColumns + " WHERE " + column + " = ? ORDER BY seq");
+            statement.setObject(1, value);
+            List<T> matches = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    T item = overlay(rows);
+                    // An update buffered since the flush may no longer match
+                    if (Objects.equals(attribute.apply(item), value)) {
+                        matches.add(item);
+                    }
+                }
+            }
+            return matches;
+        });
+    }
+
+    // Writes every buffered update now; a no-op without write-behind
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    // Updates buffered so far that a later update to the same row made redundant
+    public long coalescedWrites() {
+        return writeBehind == null ? 0 : writeBehind.coalesced();
+    }
+
+    // Buffered updates not yet written to the table
+    public long pendingWrites() {
+        return writeBehind == null ? 0 : writeBehind.size();
+    }
+
+    // Background flushes that failed; their updates stay buffered and are retried
+    public long failedFlushes() {
+        return writeBehind == null ? 0 : writeBehind.failedFlushes();
+    }
+
+    @Override
+    public void close() {
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+    }
+
+    private void writePending(List<WriteBehindBuffer.Pending<T>> batch) {
+        pool.transaction(connection -> {
+            PreparedStatement statement = connection.prepare(updateSql);
+            for (WriteBehindBuffer.Pending<T> pending : batch) {
+                bindUpdate(statement, pending.id(), pending.item(), pending.version());
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        });
+    }
+
+    // The stored row or its buffered replacement, whichever is newer
+    private T overlay(ResultSet rows) throws SQLException {
+        if (writeBehind != null) {
+            WriteBehindBuffer.Pending<T> pending = writeBehind.get(rows.getString("id"));
+            if (pending != null) {
+                return pending.item();
+            }
+        }
+        return read(rows);
+    }
+
+    private T load(ConnectionPool.PooledConnection connection, String id) throws SQLException {
+        if (writeBehind != null) {
+            WriteBehindBuffer.Pending<T> pending = writeBehind.get(id);
+            if (pending != null) {
+                return pending.item();
+            }
+        }
+        return select(connection, id);
+    }
+
+    private T select(ConnectionPool.PooledConnection connection, String id) throws SQLException {
+        PreparedStatement statement = connection.prepare(selectByIdSql);
+        statement.setString(1, id);
+        try (ResultSet rows = statement.executeQuery()) {
+            return rows.next() ? read(rows) : null;
+        }
+    }
+
+    private void bindInsert(PreparedStatement statement, String id, T item, long stamp) throws SQLException {
+        statement.setString(1, id);
+        bind(statement, 2, item);
+        statement.setLong(columns.size() + 2, stamp);
+    }
+
+    private void bindUpdate(PreparedStatement statement, String id, T item, long stamp) throws SQLException {
+        bind(statement, 1, item);
+        int index = columns.size() + 1;
+        statement.setLong(index, stamp);
+        statement.setString(index + 1, id);
+        statement.setLong(index + 2, stamp);
+    }
+
+    private void notifySave(String id, T previous, T current) {
+        for (StoreListener<T> listener : listeners) {
+            listener.onSave(id, previous, current);
+        }
+    }
+
+    private void notifyCommitted(String id) {
+        for (StoreListener<T> listener : listeners) {
+            listener.onCommitted(id);
+        }
+    }
+
+    private ReentrantLock lockFor(String id) {
+        return locks[stripeOf(id)];
+    }
+
+    private static int stripeOf(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    // Stripes are taken in index order, so two batches sharing stripes cannot deadlock
+    private List<ReentrantLock> lockAll(List<String> ids) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (String id : ids) {
+            stripes.add(stripeOf(id));
+        }
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+            held.add(locks[stripe]);
+        }
+        return held;
+    }
+
+    private static void unlockAll(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed page cursor " + cursor, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.eshop.repository.jdbc;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepositoryInterface;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+public class JdbcProductRepository extends JdbcEntityStore<Product> implements ProductRepositoryInterface {
+
+    private static final String NAME = "product_name";
+    private static final String QUANTITY = "product_quantity";
+
+    public JdbcProductRepository(ConnectionPool pool, JdbcProperties.WriteBehind writeBehind) {
+        super(pool, "product", List.of(new Column(NAME, "VARCHAR"), new Column(QUANTITY, "INT NOT NULL")),
+                Product::getProductId, Product::setProductId, writeBehind);
+        addIndex(NAME);
+    }
+
+    @Override
+    protected void bind(PreparedStatement statement, int index, Product product) throws SQLException {
+        statement.setString(index, product.getProductName());
+        statement.setInt(index + 1, product.getProductQuantity());
+    }
+
+    @Override
+    protected Product read(ResultSet row) throws SQLException {
+        Product product = new Product();
+        product.setProductId(row.getString("id"));
+        product.setProductName(row.getString(NAME));
+        product.setProductQuantity(row.getInt(QUANTITY));
+        return product;
+    }
+
+    @Override
+    public List<Product> findByName(String productName) {
+        return findByIndex(NAME, productName, Product::getProductName);
+    }
+
+    // Same contract as the in-memory repository: atomic per row, never below zero
+    @Override
+    public boolean adjustQuantity(String productId, int delta) {
+        if (productId == null) {
+            return false;
+        }
+        return modify(productId, existing -> {
+            long quantity = (long) existing.getProductQuantity() + delta;
+            if (quantity < 0 || quantity > Integer.MAX_VALUE) {
+                return null;
+            }
+            Product adjusted = new Product();
+            adjusted.setProductId(existing.getProductId());
+            adjusted.setProductName(existing.getProductName());
+            adjusted.setProductQuantity((int) quantity);
+            return adjusted;
+        }) != null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.eshop.repository.jdbc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "eshop.jdbc")
+public record JdbcProperties(
+        @DefaultValue("jdbc:h2:file:./data/eshop") String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("8") int poolSize,
+        @DefaultValue("5s") Duration borrowTimeout,
+        @DefaultValue WriteBehind writeBehind) {
+
+    public record WriteBehind(
+            boolean enabled,
+            @DefaultValue("50ms") Duration flushInterval,
+            @DefaultValue("500") int batchSize) {
+    }
+}
\ No newline at end of file
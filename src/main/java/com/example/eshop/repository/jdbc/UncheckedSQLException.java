@@ -0,0 +1,16 @@
+package com.example.eshop.repository.jdbc;
+
+import java.sql.SQLException;
+
+// Lets SQL failures cross the RepositoryInterface methods, which declare no checked exceptions
+public class UncheckedSQLException extends RuntimeException {
+
+    public UncheckedSQLException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.example.eshop.repository.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the latest unwritten state of each updated row and writes them out in batches from a background
+ * thread, so repeated updates to one row between flushes cost a single write. An entry stays readable
+ * until its write has committed and is only dropped if no newer update replaced it meanwhile, so readers
+ * that consult the buffer first never step back to an older row.
+ *
+ * A background flush that fails leaves its entries pending for the next tick. Failures are counted, and
+ * logged at most once a minute, so a database that stays down shows up as a rising pending count and
+ * failure counter rather than as silence.
+ */
+public class WriteBehindBuffer<T> implements Closeable {
+
+    // version orders the writes: the store only applies one over an older stored version
+    public record Pending<T>(String id, T item, long version) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+    private static final long WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+    private final ConcurrentHashMap<String, Pending<T>> pending = new ConcurrentHashMap<>();
+    private final Consumer<List<Pending<T>>> writer;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    // Only the flusher thread touches these
+    private long lastWarning;
+    private boolean warned;
+    private long suppressedWarnings;
+
+    public WriteBehindBuffer(String name, Consumer<List<Pending<T>>> writer, Duration flushInterval, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Write-behind batch size must be at least 1");
+        }
+        this.name = name;
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name(name + "-write-behind").factory());
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void put(String id, T item, long version) {
+        if (pending.put(id, new Pending<>(id, item, version)) != null) {
+            coalesced.increment();
+        }
+    }
+
+    public Pending<T> get(String id) {
+        return pending.get(id);
+    }
+
+    public void discard(String id) {
+        pending.remove(id);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    // Updates that replaced one still waiting to be written
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    // Background flushes that failed and left their updates pending
+    public long failedFlushes() {
+        return failedFlushes.sum();
+    }
+
+    public synchronized void flush() {
+        List<Pending<T>> batch = new ArrayList<>(Math.min(batchSize, Math.max(1, pending.size())));
+        for (Map.Entry<String, Pending<T>> entry : pending.entrySet()) {
+            batch.add(entry.getValue());
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<Pending<T>> batch) {
+        writer.accept(batch);
+        for (Pending<T> written : batch) {
+            pending.remove(written.id(), written);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Unwritten entries stay pending and are retried on the next tick
+            failedFlushes.increment();
+            warn(e);
+        }
+    }
+
+    private void warn(RuntimeException failure) {
+        long now = System.nanoTime();
+        if (warned && now - lastWarning < WARNING_INTERVAL_NANOS) {
+            suppressedWarnings++;
+            return;
+        }
+        log.warn("Write-behind flush for {} failed with {} updates pending ({} failures not logged since the last)",
+                name, pending.size(), suppressedWarnings, failure);
+        warned = true;
+        lastWarning = now;
+        suppressedWarnings = 0;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.model.Car;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class CarCodec implements EntityCodec<Car> {
+
+    @Override
+    public void encode(Car car, DataOutput out) throws IOException {
+        EntityCodec.writeString(out, car.getCarId());
+        EntityCodec.writeString(out, car.getCarName());
+        EntityCodec.writeString(out, car.getCarColor());
+        out.writeInt(car.getCarQuantity());
+    }
+
+    @Override
+    public Car decode(ByteBuffer in) {
+        Car car = new Car();
+        car.setCarId(EntityCodec.readString(in));
+        car.setCarName(EntityCodec.readString(in));
+        car.setCarColor(EntityCodec.readString(in));
+        car.setCarQuantity(in.getInt());
+        return car;
+    }
+}
\ No newline at end of file
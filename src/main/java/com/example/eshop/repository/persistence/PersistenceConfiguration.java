@@ -0,0 +1,45 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepository;
+import com.example.eshop.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!jdbc")
+@ConditionalOnProperty(prefix = "eshop.persistence", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfiguration {
+
+    // Sharded and off-heap stores are not a single EntityStore, so only heap storage can be made durable.
+    // Asking for both is refused at startup rather than quietly running without persistence.
+    public PersistenceConfiguration(@Value("${eshop.product.storage:heap}") String productStorage,
+                                    @Value("${eshop.car.storage:heap}") String carStorage) {
+        requireHeap("eshop.product.storage", productStorage);
+        requireHeap("eshop.car.storage", carStorage);
+    }
+
+    @Bean(destroyMethod = "close")
+    public StorePersistence<Product> productPersistence(ProductRepository productRepository,
+                                                        PersistenceProperties properties) {
+        return StorePersistence.open(productRepository, "product", new ProductCodec(), properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    public StorePersistence<Car> carPersistence(CarRepository carRepository, PersistenceProperties properties) {
+        return StorePersistence.open(carRepository, "car", new CarCodec(), properties);
+    }
+
+    private static void requireHeap(String property, String storage) {
+        if (!"heap".equals(storage)) {
+            throw new IllegalStateException("eshop.persistence.enabled=true only supports heap storage, but "
+                    + property + "=" + storage);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.eshop.repository.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "eshop.persistence")
+public record PersistenceProperties(
+        boolean enabled,
+        @DefaultValue("data") Path directory,
+        @DefaultValue("true") boolean fsync,
+        @DefaultValue("5m") Duration snapshotInterval) {
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.model.Product;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class ProductCodec implements EntityCodec<Product> {
+
+    @Override
+    public void encode(Product product, DataOutput out) throws IOException {
+        EntityCodec.writeString(out, product.getProductId());
+        EntityCodec.writeString(out, product.getProductName());
+        out.writeInt(product.getProductQuantity());
+    }
+
+    @Override
+    public Product decode(ByteBuffer in) {
+        Product product = new Product();
+        product.setProductId(EntityCodec.readString(in));
+        product.setProductName(EntityCodec.readString(in));
+        product.setProductQuantity(in.getInt());
+        return product;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.repository.RepositoryInterface;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+// Compacted image of a store: a header naming the first log segment to replay after it, then every row
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x45534e50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private SnapshotFile() {
+    }
+
+    // Written to a temporary file and moved into place, so a crash never leaves a half-written snapshot
+    static <T> long write(Path file, long nextSegment, Iterator<T> rows, EntityCodec<T> codec) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(nextSegment);
+            ByteArrayOutputStream row = new ByteArrayOutputStream(128);
+            DataOutputStream rowOut = new DataOutputStream(row);
+            while (rows.hasNext()) {
+                row.reset();
+                codec.encode(rows.next(), rowOut);
+                out.writeInt(row.size());
+                row.writeTo(out);
+                count++;
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    // Loads every row into the target and returns the first log segment that still has to be replayed
+    static <T> long read(Path file, EntityCodec<T> codec, RepositoryInterface<T> target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < HEADER_BYTES || mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            long nextSegment = mapped.getLong();
+            while (mapped.hasRemaining()) {
+                int length = mapped.getInt();
+                ByteBuffer row = mapped.slice(mapped.position(), length);
+                mapped.position(mapped.position() + length);
+                target.create(codec.decode(row));
+            }
+            return nextSegment;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.repository.EntityStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes one EntityStore durable: recovers it from the latest snapshot plus the log segments written after
+ * it, attaches a write-ahead log, and periodically compacts the log into a fresh snapshot.
+ */
+public class StorePersistence<T> implements Closeable {
+
+    // Not named log, which is the write-ahead log here
+    private static final Logger logger = LoggerFactory.getLogger(StorePersistence.class);
+
+    private final EntityStore<T> store;
+    private final String name;
+    private final EntityCodec<T> codec;
+    private final Path directory;
+    private final Path snapshotPath;
+    private final WriteAheadLog<T> log;
+    private final ScheduledExecutorService scheduler;
+
+    private StorePersistence(EntityStore<T> store, String name, EntityCodec<T> codec,
+                             PersistenceProperties properties) throws IOException {
+        this.store = store;
+        this.name = name;
+        this.codec = codec;
+        this.directory = properties.directory();
+        this.snapshotPath = directory.resolve(name + ".snapshot");
+        this.log = new WriteAheadLog<>(directory, name, recover(), codec, properties.fsync());
+        store.attachChangeLog(log);
+        long interval = properties.snapshotInterval().toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name(name + "-snapshot").factory());
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public static <T> StorePersistence<T> open(EntityStore<T> store, String name, EntityCodec<T> codec,
+                                               PersistenceProperties properties) {
+        try {
+            return new StorePersistence<>(store, name, codec, properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the " + name + " store", e);
+        }
+    }
+
+    // Returns the segment number new writes should go to; it is always a fresh file after any torn tail
+    private long recover() throws IOException {
+        long firstSegment = 1;
+        if (Files.exists(snapshotPath)) {
+            firstSegment = SnapshotFile.read(snapshotPath, codec, store);
+        }
+        long lastSegment = firstSegment - 1;
+        for (long segment : WriteAheadLog.segments(directory, name)) {
+            if (segment >= firstSegment) {
+                WriteAheadLog.replay(WriteAheadLog.segmentPath(directory, name, segment), codec, store);
+                lastSegment = segment;
+            }
+        }
+        return lastSegment + 1;
+    }
+
+    // New writes move to a new segment first, so the snapshot plus that segment onwards covers every write
+    public synchronized void snapshot() throws IOException {
+        long liveSegment = log.rotate().join();
+        SnapshotFile.write(snapshotPath, liveSegment, store.findAll(), codec);
+        List<Long> segments = WriteAheadLog.segments(directory, name);
+        for (long segment : segments) {
+            if (segment < liveSegment) {
+                Files.deleteIfExists(WriteAheadLog.segmentPath(directory, name, segment));
+            }
+        }
+    }
+
+    // Null until the first snapshot is written. Snapshots replace each other with an atomic move, so an
+    // open channel keeps reading one complete file even if a newer snapshot lands meanwhile.
+    public FileChannel openSnapshot() throws IOException {
+        try {
+            return FileChannel.open(snapshotPath, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // The log still holds every write, but it keeps growing and restarts slow down until one succeeds
+            logger.warn("Snapshot of the {} store failed; its log will not be compacted", name, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // Recovery falls back to replaying the log
+            logger.warn("Final snapshot of the {} store failed; the next start replays its log", name, e);
+        }
+        store.attachChangeLog(null);
+        log.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,297 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.repository.ChangeLog;
+import com.example.eshop.repository.RepositoryInterface;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of store mutations, split into numbered segment files. Callers enqueue encoded records
+ * and a single writer thread drains whatever has queued up, writes it in one batch and forces it to disk
+ * once (group commit), then wakes every caller whose record was in the batch.
+ */
+public class WriteAheadLog<T> implements ChangeLog<T>, Closeable {
+
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_BATCH = 4096;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    // Control markers travel through the same queue so they are ordered with the records
+    private static final byte[] ROTATE = new byte[0];
+    private static final byte[] CLOSE = new byte[0];
+
+    private final Path directory;
+    private final String name;
+    private final EntityCodec<T> codec;
+    private final boolean fsync;
+    private final LinkedBlockingQueue<byte[]> pending = new LinkedBlockingQueue<>();
+    private final Queue<CompletableFuture<Long>> rotations = new ConcurrentLinkedQueue<>();
+    private final Object durableLock = new Object();
+    private final Thread writer;
+
+    private long appended;
+    private boolean closed;
+    private volatile long durable;
+    private volatile IOException failure;
+    private long segment;
+    private FileChannel channel;
+
+    public WriteAheadLog(Path directory, String name, long segment, EntityCodec<T> codec, boolean fsync) {
+        this.directory = directory;
+        this.name = name;
+        this.codec = codec;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            openSegment(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.writer = Thread.ofPlatform().daemon().name(name + "-wal-writer").start(this::writeLoop);
+    }
+
+    @Override
+    public long logSave(String id, T item) {
+        return enqueue(encode(SAVE, id, item));
+    }
+
+    @Override
+    public long logDelete(String id) {
+        return enqueue(encode(DELETE, id, null));
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        if (durable >= position) {
+            return;
+        }
+        boolean interrupted = false;
+        synchronized (durableLock) {
+            while (durable < position) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log " + name + " failed", failure);
+                }
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Switches new records to a fresh segment and completes with that segment's number
+    public synchronized CompletableFuture<Long> rotate() {
+        CompletableFuture<Long> rotated = new CompletableFuture<>();
+        if (closed) {
+            rotated.completeExceptionally(new IllegalStateException("Write-ahead log " + name + " is closed"));
+            return rotated;
+        }
+        rotations.add(rotated);
+        pending.add(ROTATE);
+        return rotated;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.add(CLOSE);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized long enqueue(byte[] record) {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log " + name + " is closed");
+        }
+        pending.add(record);
+        return ++appended;
+    }
+
+    private byte[] encode(byte operation, String id, T item) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(operation);
+            EntityCodec.writeString(out, id);
+            if (item != null) {
+                codec.encode(item, out);
+            }
+            byte[] record = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(record, HEADER_BYTES, record.length - HEADER_BYTES);
+            ByteBuffer.wrap(record).putInt(record.length - HEADER_BYTES).putInt((int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLoop() {
+        List<byte[]> batch = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        long written = 0;
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            pending.drainTo(batch, MAX_BATCH - 1);
+            try {
+                for (byte[] record : batch) {
+                    if (record == ROTATE) {
+                        flush(buffer);
+                        openSegment(segment + 1);
+                        rotations.remove().complete(segment);
+                    } else if (record == CLOSE) {
+                        running = false;
+                    } else {
+                        if (buffer.remaining() < record.length) {
+                            flush(buffer);
+                        }
+                        if (record.length > buffer.capacity()) {
+                            writeFully(ByteBuffer.wrap(record));
+                        } else {
+                            buffer.put(record);
+                        }
+                        written++;
+                    }
+                }
+                flush(buffer);
+                if (!running) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                failure = e;
+                running = false;
+                rotations.forEach(rotation -> rotation.completeExceptionally(e));
+            }
+            batch.clear();
+            synchronized (durableLock) {
+                durable = failure == null ? written : durable;
+                durableLock.notifyAll();
+            }
+        }
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        segment = number;
+        channel = FileChannel.open(segmentPath(directory, name, number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static Path segmentPath(Path directory, String name, long number) {
+        return directory.resolve(String.format("%s-%08d.wal", name, number));
+    }
+
+    // Segment numbers present on disk, in ascending order
+    static List<Long> segments(Path directory, String name) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return numbers;
+        }
+        Pattern pattern = Pattern.compile(Pattern.quote(name) + "-(\\d+)\\.wal");
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    // Re-applies one segment through a memory-mapped read; stops at the first torn or corrupt record
+    static <T> long replay(Path segmentFile, EntityCodec<T> codec, RepositoryInterface<T> target) throws IOException {
+        long applied = 0;
+        try (FileChannel file = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            if (file.size() == 0) {
+                return 0;
+            }
+            MappedByteBuffer mapped = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            CRC32 crc = new CRC32();
+            while (mapped.remaining() >= HEADER_BYTES) {
+                int length = mapped.getInt();
+                int checksum = mapped.getInt();
+                if (length <= 0 || length > mapped.remaining()) {
+                    break;
+                }
+                ByteBuffer body = mapped.slice(mapped.position(), length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                mapped.position(mapped.position() + length);
+                byte operation = body.get();
+                String id = EntityCodec.readString(body);
+                if (operation == SAVE) {
+                    target.create(codec.decode(body));
+                } else {
+                    target.deleteById(id);
+                }
+                applied++;
+            }
+        }
+        return applied;
+    }
+}
\ No newline at end of file
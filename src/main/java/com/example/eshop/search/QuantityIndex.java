@@ -0,0 +1,84 @@
+package com.example.eshop.search;
+
+import com.example.eshop.repository.StoreListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ordered index on a stock quantity. Rows sit in a skip list sorted by (quantity, id), so "everything
+ * below N, lowest first" is a head-set walk costing O(log n + k). Each id also remembers the quantity it
+ * is filed under, so a change moves exactly one entry. Kept current as a StoreListener.
+ */
+public class QuantityIndex<T> implements StoreListener<T> {
+
+    private record Entry(int quantity, String id) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::quantity).thenComparing(Entry::id);
+
+    private final ToIntFunction<T> quantityExtractor;
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<String, Integer> filed = new ConcurrentHashMap<>();
+
+    public QuantityIndex(ToIntFunction<T> quantityExtractor) {
+        this.quantityExtractor = quantityExtractor;
+    }
+
+    // Loads rows that existed before the index was attached; safe to run while writes continue
+    public void backfill(Iterator<T> rows, Function<T, String> idExtractor) {
+        while (rows.hasNext()) {
+            T row = rows.next();
+            filed.computeIfAbsent(idExtractor.apply(row), id -> {
+                int quantity = quantityExtractor.applyAsInt(row);
+                entries.add(new Entry(quantity, id));
+                return quantity;
+            });
+        }
+    }
+
+    @Override
+    public void onSave(String id, T previous, T current) {
+        int quantity = quantityExtractor.applyAsInt(current);
+        filed.compute(id, (key, oldQuantity) -> {
+            if (oldQuantity == null || oldQuantity != quantity) {
+                if (oldQuantity != null) {
+                    entries.remove(new Entry(oldQuantity, key));
+                }
+                entries.add(new Entry(quantity, key));
+            }
+            return quantity;
+        });
+    }
+
+    @Override
+    public void onDelete(String id, T previous) {
+        filed.computeIfPresent(id, (key, oldQuantity) -> {
+            entries.remove(new Entry(oldQuantity, key));
+            return null;
+        });
+    }
+
+    // Ids with a quantity strictly below the threshold, lowest quantity first
+    public List<String> below(int threshold, int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, 256));
+        // The empty id sorts before every real id, so this bound excludes the threshold itself
+        for (Entry entry : entries.headSet(new Entry(threshold, ""), false)) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(entry.id());
+        }
+        return result;
+    }
+
+    public int size() {
+        return filed.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.eshop.search;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfiguration {
+
+    @Bean
+    public TextIndex<Product> productSearchIndex(ProductRepositoryInterface productRepository) {
+        TextIndex<Product> index = new TextIndex<>(Product::getProductName);
+        productRepository.addListener(index);
+        index.backfill(productRepository.findAll(), Product::getProductId);
+        return index;
+    }
+
+    @Bean
+    public TextIndex<Car> carSearchIndex(CarRepositoryInterface carRepository) {
+        TextIndex<Car> index = new TextIndex<>(Car::getCarName);
+        carRepository.addListener(index);
+        index.backfill(carRepository.findAll(), Car::getCarId);
+        return index;
+    }
+
+    @Bean
+    public QuantityIndex<Product> productQuantityIndex(ProductRepositoryInterface productRepository) {
+        QuantityIndex<Product> index = new QuantityIndex<>(Product::getProductQuantity);
+        productRepository.addListener(index);
+        index.backfill(productRepository.findAll(), Product::getProductId);
+        return index;
+    }
+
+    @Bean
+    public QuantityIndex<Car> carQuantityIndex(CarRepositoryInterface carRepository) {
+        QuantityIndex<Car> index = new QuantityIndex<>(Car::getCarQuantity);
+        carRepository.addListener(index);
+        index.backfill(carRepository.findAll(), Car::getCarId);
+        return index;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.example.eshop.search;
+
+import com.example.eshop.repository.StoreListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Prefix and token search over one text attribute. A sorted token dictionary maps each token to the ids
+ * that contain it, so a prefix is a range lookup, and each id keeps its token list so the remaining query
+ * terms can be checked without touching the repository. Kept current as a StoreListener.
+ */
+public class TextIndex<T> implements StoreListener<T> {
+
+    private final Function<T, String> textExtractor;
+    private final ConcurrentSkipListMap<String, Set<String>> tokens = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, String[]> documents = new ConcurrentHashMap<>();
+
+    public TextIndex(Function<T, String> textExtractor) {
+        this.textExtractor = textExtractor;
+    }
+
+    // Loads rows that existed before the index was attached; safe to run while writes continue
+    public void backfill(Iterator<T> rows, Function<T, String> idExtractor) {
+        while (rows.hasNext()) {
+            T row = rows.next();
+            String id = idExtractor.apply(row);
+            documents.computeIfAbsent(id, key -> {
+                String[] terms = tokenize(textExtractor.apply(row));
+                for (String term : terms) {
+                    addPosting(term, key);
+                }
+                return terms;
+            });
+        }
+    }
+
+    // Compares against the terms on file, not previous: previous may be the stored instance, already mutated
+    @Override
+    public void onSave(String id, T previous, T current) {
+        String[] terms = tokenize(textExtractor.apply(current));
+        documents.compute(id, (key, oldTerms) -> {
+            if (Arrays.equals(oldTerms, terms)) {
+                return oldTerms;
+            }
+            if (oldTerms != null) {
+                for (String term : oldTerms) {
+                    removePosting(term, key);
+                }
+            }
+            for (String term : terms) {
+                addPosting(term, key);
+            }
+            return terms;
+        });
+    }
+
+    @Override
+    public void onDelete(String id, T previous) {
+        documents.computeIfPresent(id, (key, oldTerms) -> {
+            for (String term : oldTerms) {
+                removePosting(term, key);
+            }
+            return null;
+        });
+    }
+
+    // Ids whose text has, for every query term, a token starting with that term
+    public List<String> search(String query, int limit) {
+        String[] terms = tokenize(query);
+        List<String> result = new ArrayList<>();
+        if (terms.length == 0 || limit < 1) {
+            return result;
+        }
+        // The longest term is usually the most selective, so it drives the scan
+        String anchor = terms[0];
+        for (String term : terms) {
+            if (term.length() > anchor.length()) {
+                anchor = term;
+            }
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        for (Map.Entry<String, Set<String>> entry : tokens.subMap(anchor, true, anchor + Character.MAX_VALUE, false).entrySet()) {
+            for (String id : entry.getValue()) {
+                String[] document = documents.get(id);
+                if (document != null && matchesAll(document, terms) && seen.add(id)) {
+                    result.add(id);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static boolean matchesAll(String[] document, String[] terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String token : document) {
+                if (token.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPosting(String term, String id) {
+        tokens.compute(term, (key, ids) -> {
+            Set<String> postings = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            postings.add(id);
+            return postings;
+        });
+    }
+
+    private void removePosting(String term, String id) {
+        tokens.computeIfPresent(term, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
\ No newline at end of file
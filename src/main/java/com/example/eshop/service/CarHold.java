@@ -0,0 +1,7 @@
+package com.example.eshop.service;
+
+import java.time.Instant;
+
+// Stock set aside for one pending purchase until it is confirmed, cancelled or expires
+public record CarHold(String holdId, String carId, int quantity, Instant expiresAt) {
+}
\ No newline at end of file
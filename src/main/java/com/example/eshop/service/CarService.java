@@ -1,12 +1,32 @@
 package com.example.eshop.service;
 
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.ImportReport;
 import com.example.eshop.model.Car;
+import com.example.eshop.repository.Page;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
 import java.util.List;
 
 public interface CarService {
     public Car create (Car car);
+    ImportReport importCars(Reader input, BulkFormat format, boolean overwrite) throws IOException;
+    long exportCars(OutputStream out, BulkFormat format) throws IOException;
+    FileChannel openCarSnapshot() throws IOException;
     public List <Car> findAll();
+    Iterator<Car> iterateAll();
+    Page<Car> findPage(String cursor, int limit);
     Car findById (String carId);
+    long version();
+    long versionOf(String carId);
+    List<Car> search(String query, int limit);
+    List<Car> findLowStock(int below, int limit);
     public void update (String carId, Car car);
     public void deleteCarById (String carId);
+    CarHold hold(String carId, int quantity);
+    boolean confirm(String holdId);
+    boolean cancel(String holdId);
 }
\ No newline at end of file
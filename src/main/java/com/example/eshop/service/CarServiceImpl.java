@@ -1,11 +1,33 @@
 package com.example.eshop.service;
 
+import com.example.eshop.bulk.BulkExporter;
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.BulkImporter;
+import com.example.eshop.bulk.ImportReport;
+import com.example.eshop.cache.SingleFlight;
 import com.example.eshop.model.Car;
+import com.example.eshop.model.CompactId;
 import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.repository.Page;
+import com.example.eshop.repository.persistence.StorePersistence;
+import com.example.eshop.search.QuantityIndex;
+import com.example.eshop.search.TextIndex;
+import com.example.eshop.timing.TimingWheel;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class CarServiceImpl implements CarService {
@@ -13,19 +35,124 @@ public class CarServiceImpl implements CarService {
     @Autowired
     private CarRepositoryInterface carRepository;
 
+    @Autowired
+    private TextIndex<Car> carSearchIndex;
+
+    @Autowired
+    private QuantityIndex<Car> carQuantityIndex;
+
+    @Autowired
+    private TimingWheel carHoldWheel;
+
+    // Only present for backends slow enough that concurrent reads of one id are worth sharing
+    @Autowired(required = false)
+    private SingleFlight<String, Car> carLookups;
+
+    @Autowired
+    private BulkImporter<Car> carImporter;
+
+    @Autowired
+    private BulkExporter<Car> carExporter;
+
+    // Absent unless persistence is enabled for this store
+    @Autowired(required = false)
+    private StorePersistence<Car> carPersistence;
+
+    @Value("${eshop.car.hold-ttl:5m}")
+    private Duration holdTtl = Duration.ofMinutes(5);
+
+    private final ConcurrentHashMap<String, ActiveHold> holds = new ConcurrentHashMap<>();
+
+    private record ActiveHold(CarHold hold, TimingWheel.Timeout timeout) {
+    }
+
     @Override
     public Car create(Car car) {
         return carRepository.create(car);
     }
 
+    // Rows with the id of a stored car are rejected unless overwrite is set
+    @Override
+    public ImportReport importCars(Reader input, BulkFormat format, boolean overwrite) throws IOException {
+        if (overwrite) {
+            return carImporter.run(input, format, carRepository::createAll);
+        }
+        return carImporter.run(input, format, carId -> carRepository.findById(carId) != null,
+                carRepository::createAll);
+    }
+
+    // Streams the live rows through the repository iterator, never holding more than one of them
+    @Override
+    public long exportCars(OutputStream out, BulkFormat format) throws IOException {
+        return carExporter.write(carRepository.findAll(), out, format);
+    }
+
+    @Override
+    public FileChannel openCarSnapshot() throws IOException {
+        return carPersistence == null ? null : carPersistence.openSnapshot();
+    }
+
     @Override
     public List<Car> findAll() {
+        List<Car> allCars = new ArrayList<>();
+        carRepository.findAll().forEachRemaining(allCars::add);
+        return allCars;
+    }
+
+    @Override
+    public Iterator<Car> iterateAll() {
         return carRepository.findAll();
     }
 
+    @Override
+    public Page<Car> findPage(String cursor, int limit) {
+        return carRepository.findPage(cursor, limit);
+    }
+
+    // Against a slow backend, concurrent lookups of one id share a single repository read
     @Override
     public Car findById(String carId) {
-        return carRepository.findById(carId);
+        if (carId == null) {
+            return null;
+        }
+        if (carLookups == null) {
+            return carRepository.findById(carId);
+        }
+        return carLookups.load(carId, carRepository::findById);
+    }
+
+    @Override
+    public long version() {
+        return carRepository.version();
+    }
+
+    @Override
+    public long versionOf(String carId) {
+        return carRepository.versionOf(carId);
+    }
+
+    @Override
+    public List<Car> search(String query, int limit) {
+        List<Car> matches = new ArrayList<>();
+        for (String carId : carSearchIndex.search(query, limit)) {
+            Car car = carRepository.findById(carId);
+            if (car != null) {
+                matches.add(car);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public List<Car> findLowStock(int below, int limit) {
+        List<Car> matches = new ArrayList<>();
+        for (String carId : carQuantityIndex.below(below, limit)) {
+            Car car = carRepository.findById(carId);
+            if (car != null && car.getCarQuantity() < below) {
+                matches.add(car);
+            }
+        }
+        return matches;
     }
 
     @Override
@@ -37,4 +164,54 @@ public class CarServiceImpl implements CarService {
     public void deleteCarById(String carId) {
         carRepository.deleteById(carId);
     }
+
+    // Takes the stock now and gives it back when the hold expires; null when the car is missing or short
+    @Override
+    public CarHold hold(String carId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        if (!carRepository.adjustQuantity(carId, -quantity)) {
+            return null;
+        }
+        CarHold hold = new CarHold(CompactId.generate().toString(), carId, quantity, Instant.now().plus(holdTtl));
+        TimingWheel.Timeout timeout = carHoldWheel.schedule(holdTtl.toMillis(), () -> expire(hold));
+        holds.put(hold.holdId(), new ActiveHold(hold, timeout));
+        // The wheel may already have fired if the TTL is shorter than a tick
+        if (timeout.isExpired()) {
+            holds.remove(hold.holdId());
+        }
+        return hold;
+    }
+
+    // Whichever of confirm, cancel and expiry stops the timeout first decides what happens to the stock
+    @Override
+    public boolean confirm(String holdId) {
+        ActiveHold active = holdId == null ? null : holds.remove(holdId);
+        return active != null && active.timeout().cancel();
+    }
+
+    @Override
+    public boolean cancel(String holdId) {
+        ActiveHold active = holdId == null ? null : holds.remove(holdId);
+        if (active == null || !active.timeout().cancel()) {
+            return false;
+        }
+        carRepository.adjustQuantity(active.hold().carId(), active.hold().quantity());
+        return true;
+    }
+
+    // Holds and their timeouts live only in memory while the stock they took is durable, so a clean shutdown
+    // hands every pending hold's units back. A crash still loses them until the stock is corrected by hand.
+    @PreDestroy
+    public void releaseHolds() {
+        for (String holdId : holds.keySet()) {
+            cancel(holdId);
+        }
+    }
+
+    private void expire(CarHold hold) {
+        holds.remove(hold.holdId());
+        carRepository.adjustQuantity(hold.carId(), hold.quantity());
+    }
 }
\ No newline at end of file
@@ -1,12 +1,31 @@
 package com.example.eshop.service;
 
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.ImportReport;
 import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
 import java.util.List;
 
 public interface ProductService {
     Product create(Product product);
+    ImportReport importProducts(Reader input, BulkFormat format, boolean overwrite) throws IOException;
+    long exportProducts(OutputStream out, BulkFormat format) throws IOException;
+    FileChannel openProductSnapshot() throws IOException;
     List<Product> findAll();
+    Iterator<Product> iterateAll();
+    Page<Product> findPage(String cursor, int limit);
     Product findById(String productId);
+    long version();
+    long versionOf(String productId);
+    List<Product> search(String query, int limit);
+    List<Product> findLowStock(int below, int limit);
     Product update(Product product);
+    boolean reserve(String productId, int quantity);
+    boolean release(String productId, int quantity);
     void deleteById(String productId);
 }
@@ -1,11 +1,27 @@
 package com.example.eshop.service;
 
+import com.example.eshop.bulk.BulkExporter;
+import com.example.eshop.bulk.BulkFormat;
+import com.example.eshop.bulk.BulkImporter;
+import com.example.eshop.bulk.ImportReport;
+import com.example.eshop.cache.SingleFlight;
+import com.example.eshop.model.CompactId;
 import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
 import com.example.eshop.repository.ProductRepositoryInterface;
+import com.example.eshop.repository.persistence.StorePersistence;
+import com.example.eshop.search.QuantityIndex;
+import com.example.eshop.search.TextIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 @Service
@@ -14,32 +30,166 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ProductRepositoryInterface productRepository;
 
+    @Autowired
+    private TextIndex<Product> productSearchIndex;
+
+    @Autowired
+    private QuantityIndex<Product> productQuantityIndex;
+
+    // Only present for backends slow enough that concurrent reads of one id are worth sharing
+    @Autowired(required = false)
+    private SingleFlight<String, Product> productLookups;
+
+    @Autowired
+    private BulkImporter<Product> productImporter;
+
+    @Autowired
+    private BulkExporter<Product> productExporter;
+
+    // Absent unless persistence is enabled for this store
+    @Autowired(required = false)
+    private StorePersistence<Product> productPersistence;
+
     @Override
     public Product create(Product product) {
+        validate(product);
+        if (product.getProductId() == null || product.getProductId().isEmpty()) {
+            product.setProductId(CompactId.generate().toString());
+        }
         productRepository.create(product);
         return product;
     }
 
+    // Rows are checked against the same bean validation rules as the create form and stored a batch at a time.
+    // A row with the id of a stored product is rejected unless overwrite is set.
+    @Override
+    public ImportReport importProducts(Reader input, BulkFormat format, boolean overwrite) throws IOException {
+        if (overwrite) {
+            return productImporter.run(input, format, productRepository::createAll);
+        }
+        return productImporter.run(input, format, productId -> productRepository.findById(productId) != null,
+                productRepository::createAll);
+    }
+
+    // Streams the live rows through the repository iterator, never holding more than one of them
+    @Override
+    public long exportProducts(OutputStream out, BulkFormat format) throws IOException {
+        return productExporter.write(productRepository.findAll(), out, format);
+    }
+
+    @Override
+    public FileChannel openProductSnapshot() throws IOException {
+        return productPersistence == null ? null : productPersistence.openSnapshot();
+    }
+
     @Override
     public List<Product> findAll() {
-        List<Product> allProduct = productRepository.findAll();
+        List<Product> allProduct = new ArrayList<>();
+        productRepository.findAll().forEachRemaining(allProduct::add);
         return allProduct;
     }
 
-    // Method to find the product by its ID, later used to edit and delete the products
+    // Walks the live repository view without materializing it, for streamed rendering
+    @Override
+    public Iterator<Product> iterateAll() {
+        return productRepository.findAll();
+    }
+
+    @Override
+    public Page<Product> findPage(String cursor, int limit) {
+        return productRepository.findPage(cursor, limit);
+    }
+
+    // Method to find the product by its ID, later used to edit and delete the products.
+    // Against a slow backend, concurrent lookups of one id share a single repository read.
     @Override
     public Product findById(String productId) {
-        return productRepository.findById(productId);
+        if (productId == null) {
+            return null;
+        }
+        if (productLookups == null) {
+            return productRepository.findById(productId);
+        }
+        return productLookups.load(productId, productRepository::findById);
+    }
+
+    @Override
+    public long version() {
+        return productRepository.version();
+    }
+
+    @Override
+    public long versionOf(String productId) {
+        return productRepository.versionOf(productId);
+    }
+
+    // Prefix search on product names through the search index instead of scanning every row
+    @Override
+    public List<Product> search(String query, int limit) {
+        List<Product> matches = new ArrayList<>();
+        for (String productId : productSearchIndex.search(query, limit)) {
+            Product product = productRepository.findById(productId);
+            if (product != null) {
+                matches.add(product);
+            }
+        }
+        return matches;
+    }
+
+    // Range walk over the quantity index; rows are re-checked in case they changed after the index read
+    @Override
+    public List<Product> findLowStock(int below, int limit) {
+        List<Product> matches = new ArrayList<>();
+        for (String productId : productQuantityIndex.below(below, limit)) {
+            Product product = productRepository.findById(productId);
+            if (product != null && product.getProductQuantity() < below) {
+                matches.add(product);
+            }
+        }
+        return matches;
     }
 
     // Method to edit the product
     @Override
     public Product update(Product product) {
+        validate(product);
         return productRepository.update(product);
     }
 
+    // Takes stock without a read-modify-write round trip; false when the product is missing or short
+    @Override
+    public boolean reserve(String productId, int quantity) {
+        validateQuantity(quantity);
+        return productRepository.adjustQuantity(productId, -quantity);
+    }
+
+    @Override
+    public boolean release(String productId, int quantity) {
+        validateQuantity(quantity);
+        return productRepository.adjustQuantity(productId, quantity);
+    }
+
     @Override
     public void deleteById(String productId) {
         productRepository.deleteById(productId);
     }
+
+    private void validateQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+    }
+
+    // Mirrors the bean validation rules on Product for callers that bypass the controller
+    private void validate(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product must not be null");
+        }
+        if (product.getProductName() == null || product.getProductName().isBlank()) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        if (product.getProductQuantity() < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+    }
 }
\ No newline at end of file
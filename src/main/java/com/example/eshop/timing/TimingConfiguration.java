@@ -0,0 +1,28 @@
+package com.example.eshop.timing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class TimingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public TimingWheel carHoldWheel(MeterRegistry registry,
+                                    @Value("${eshop.car.hold-tick:100ms}") Duration tick) {
+        Timer expiryLag = Timer.builder("eshop.car.holds.expiry.lag")
+                .description("Delay between a hold's deadline and the stock returning")
+                .register(registry);
+        TimingWheel wheel = new TimingWheel("car-holds", tick.toMillis(),
+                () -> System.nanoTime() / 1_000_000, lag -> expiryLag.record(lag, TimeUnit.MILLISECONDS));
+        Gauge.builder("eshop.car.holds.active", wheel, TimingWheel::pending).register(registry);
+        wheel.start();
+        return wheel;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.example.eshop.timing;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel for large numbers of timeouts. Level 0 has one slot per tick and every level
+ * above has slots SLOTS times wider. A timeout sits in the coarsest level that still resolves its deadline
+ * and cascades one level down when its slot comes round, so scheduling, cancelling and expiring each cost
+ * O(1) however many timeouts are pending. Callers only touch a lock-free queue and a state flag; the slots
+ * themselves belong to whichever thread advances the wheel, and cancelled timeouts are dropped when their
+ * slot comes round rather than unlinked eagerly.
+ */
+public class TimingWheel implements Closeable {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final String name;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final LongConsumer lagRecorder;
+    private final long origin;
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final LongAdder pending = new LongAdder();
+    private final Timeout[][] slots = new Timeout[LEVELS][SLOTS];
+
+    private long currentTick;
+    private Timeout expiring;
+    private volatile Thread driver;
+    private volatile boolean closed;
+
+    // The clock is in milliseconds; every expiry reports how late it ran, in milliseconds, to lagRecorder
+    public TimingWheel(String name, long tickMillis, LongSupplier clock, LongConsumer lagRecorder) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms");
+        }
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.lagRecorder = lagRecorder;
+        this.origin = clock.getAsLong();
+    }
+
+    public class Timeout {
+        private final long deadline;
+        private final long deadlineTick;
+        private final Runnable task;
+        private volatile int state;
+        private Timeout next;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.deadlineTick = Math.ceilDiv(deadline - origin, tickMillis);
+            this.task = task;
+        }
+
+        // True only for the caller that stopped the timeout before it fired
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            pending.decrement();
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+
+    public Timeout schedule(long delayMillis, Runnable task) {
+        if (closed) {
+            throw new IllegalStateException("Timing wheel " + name + " is closed");
+        }
+        Timeout timeout = new Timeout(clock.getAsLong() + Math.max(0, delayMillis), task);
+        pending.increment();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    public long pending() {
+        return pending.sum();
+    }
+
+    // Runs the wheel on its own daemon thread, one advance per tick
+    public synchronized void start() {
+        if (driver != null || closed) {
+            return;
+        }
+        driver = Thread.ofPlatform().daemon().name(name + "-timing-wheel").start(() -> {
+            while (!closed) {
+                try {
+                    Thread.sleep(tickMillis);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                advance();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Thread running = driver;
+        if (running != null) {
+            running.interrupt();
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Moves the wheel up to the clock's current tick and runs every task that fell due on the way
+    public synchronized void advance() {
+        long now = clock.getAsLong();
+        long targetTick = (now - origin) / tickMillis;
+        for (Timeout timeout = additions.poll(); timeout != null; timeout = additions.poll()) {
+            if (timeout.state == PENDING) {
+                place(timeout);
+            }
+        }
+        runExpiring(now);
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & MASK);
+                }
+            }
+            cascade(0, (int) currentTick & MASK);
+            runExpiring(now);
+        }
+    }
+
+    // Re-places a slot's timeouts relative to the current tick; level 0 entries land in the expiring list
+    private void cascade(int level, int slot) {
+        Timeout timeout = slots[level][slot];
+        slots[level][slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            if (timeout.state == PENDING) {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            timeout.next = expiring;
+            expiring = timeout;
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                link(timeout, level, (int) (timeout.deadlineTick >>> (SLOT_BITS * level)) & MASK);
+                return;
+            }
+        }
+        // Beyond the wheel's span: park in the top slot visited last and re-place when it cascades
+        int top = LEVELS - 1;
+        link(timeout, top, (int) ((currentTick >>> (SLOT_BITS * top)) - 1) & MASK);
+    }
+
+    private void runExpiring(long now) {
+        while (expiring != null) {
+            Timeout timeout = expiring;
+            expiring = timeout.next;
+            timeout.next = null;
+            if (!STATE.compareAndSet(timeout, PENDING, EXPIRED)) {
+                continue;
+            }
+            pending.decrement();
+            lagRecorder.accept(Math.max(0, now - timeout.deadline));
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, e);
+            }
+        }
+    }
+
+    private void link(Timeout timeout, int level, int slot) {
+        timeout.next = slots[level][slot];
+        slots[level][slot] = timeout;
+    }
+}
\ No newline at end of file
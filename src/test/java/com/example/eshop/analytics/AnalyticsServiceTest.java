@@ -0,0 +1,165 @@
+package com.example.eshop.analytics;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.CarRepository;
+import com.example.eshop.repository.OffHeapCarRepository;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.ShardedCarRepository;
+import com.example.eshop.repository.ShardedProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalyticsServiceTest {
+
+    private static Product product(String name, int quantity) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setProductQuantity(quantity);
+        return product;
+    }
+
+    private static Car car(String color, int quantity) {
+        Car car = new Car();
+        car.setCarName("Car");
+        car.setCarColor(color);
+        car.setCarQuantity(quantity);
+        return car;
+    }
+
+    @Test
+    void testTotalsColorsAndHistogram() {
+        ProductRepository products = new ProductRepository();
+        CarRepository cars = new CarRepository();
+        products.create(product("Empty", 0));
+        products.create(product("One", 1));
+        products.create(product("Three", 3));
+        products.create(product("Five", 5));
+        cars.create(car("Red", 2));
+        cars.create(car("Blue", 7));
+        cars.create(car("Red", 4));
+        cars.create(car(null, 1));
+
+        InventoryAnalytics analytics = new AnalyticsService(products, cars, Duration.ZERO).inventory(10);
+
+        assertTrue(analytics.consistent());
+        assertEquals(new InventoryAnalytics.Totals(4, 9), analytics.products());
+        assertEquals(new InventoryAnalytics.Totals(4, 14), analytics.cars());
+        assertEquals(23, analytics.totalUnits());
+        assertEquals(List.of("Blue", "Red", "unspecified"), List.copyOf(analytics.carUnitsByColor().keySet()));
+        assertEquals(Map.of("Blue", 7L, "Red", 6L, "unspecified", 1L), analytics.carUnitsByColor());
+        assertEquals(List.of(
+                new InventoryAnalytics.Bucket("<=0", 1, 0),
+                new InventoryAnalytics.Bucket("1", 1, 1),
+                new InventoryAnalytics.Bucket("2-3", 1, 3),
+                new InventoryAnalytics.Bucket("4-7", 1, 5)), analytics.productQuantities());
+    }
+
+    @Test
+    void testTopProductsAreOrderedAndLimited() {
+        ShardedProductRepository products = new ShardedProductRepository(4);
+        for (int i = 0; i < 1000; i++) {
+            products.create(product("Product " + i, i % 250));
+        }
+        AnalyticsService service = new AnalyticsService(products, new CarRepository(), Duration.ZERO);
+
+        List<Product> top = service.inventory(6).topProducts();
+
+        assertEquals(List.of(249, 249, 249, 249, 248, 248),
+                top.stream().map(Product::getProductQuantity).toList());
+        assertTrue(top.get(0).getProductId().compareTo(top.get(1).getProductId()) < 0);
+        assertEquals(AnalyticsService.MAX_TOP, service.inventory(1000).topProducts().size());
+        assertEquals(1, service.inventory(0).topProducts().size());
+    }
+
+    @Test
+    void testShardedAndOffHeapStoresMatchTheHeapStores() {
+        ShardedCarRepository sharded = new ShardedCarRepository(8);
+        OffHeapCarRepository offHeap = new OffHeapCarRepository();
+        CarRepository heap = new CarRepository();
+        String[] colors = {"Red", "Blue", "Green"};
+        for (int i = 0; i < 5000; i++) {
+            sharded.create(car(colors[i % 3], i % 37));
+            offHeap.create(car(colors[i % 3], i % 37));
+            heap.create(car(colors[i % 3], i % 37));
+        }
+        ProductRepository products = new ProductRepository();
+
+        InventoryAnalytics expected = new AnalyticsService(products, heap, Duration.ZERO).inventory(1);
+        for (InventoryAnalytics actual : List.of(
+                new AnalyticsService(products, sharded, Duration.ZERO).inventory(1),
+                new AnalyticsService(products, offHeap, Duration.ZERO).inventory(1))) {
+            assertEquals(expected.cars(), actual.cars());
+            assertEquals(expected.carUnitsByColor(), actual.carUnitsByColor());
+            assertEquals(expected.carQuantities(), actual.carQuantities());
+        }
+    }
+
+    @Test
+    void testResultIsReusedUntilAStoreChanges() {
+        ProductRepository products = new ProductRepository();
+        CarRepository cars = new CarRepository();
+        products.create(product("One", 1));
+        AnalyticsService service = new AnalyticsService(products, cars, Duration.ZERO);
+
+        InventoryAnalytics first = service.inventory(AnalyticsService.MAX_TOP);
+        assertSame(first, service.inventory(AnalyticsService.MAX_TOP));
+
+        cars.create(car("Red", 3));
+        InventoryAnalytics second = service.inventory(AnalyticsService.MAX_TOP);
+        assertEquals(4, second.totalUnits());
+    }
+
+    @Test
+    void testRefreshIntervalServesTheCachedResult() {
+        ProductRepository products = new ProductRepository();
+        AnalyticsService service = new AnalyticsService(products, new CarRepository(), Duration.ofHours(1));
+        products.create(product("One", 1));
+        service.inventory(1);
+
+        products.create(product("Two", 2));
+
+        assertEquals(1, service.inventory(1).totalUnits());
+    }
+
+    @Test
+    void testLatestNeverScans() {
+        ProductRepository products = new ProductRepository();
+        AnalyticsService service = new AnalyticsService(products, new CarRepository(), Duration.ZERO);
+        products.create(product("One", 1));
+        assertNull(service.latest(1));
+
+        service.inventory(1);
+        products.create(product("Two", 2));
+
+        assertEquals(1, service.latest(1).totalUnits());
+        assertEquals(3, service.inventory(1).totalUnits());
+        assertEquals(3, service.latest(1).totalUnits());
+    }
+
+    @Test
+    void testRefresherKeepsLatestCurrent() throws InterruptedException {
+        ProductRepository products = new ProductRepository();
+        AnalyticsService service = new AnalyticsService(products, new CarRepository(), Duration.ZERO);
+        try (AnalyticsRefresher refresher = new AnalyticsRefresher(service, Duration.ofMillis(5))) {
+            refresher.start();
+            products.create(product("One", 1));
+            products.create(product("Two", 2));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (service.latest(1) == null || service.latest(1).totalUnits() != 3) {
+                assertTrue(System.nanoTime() < deadline, "Timed out");
+                Thread.sleep(5);
+            }
+        }
+    }
+}
\ No newline at end of file
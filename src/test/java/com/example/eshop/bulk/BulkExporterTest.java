@@ -0,0 +1,141 @@
+package com.example.eshop.bulk;
+
+import com.example.eshop.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkExporterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private BulkExporter<Product> exporter() {
+        Map<String, Function<Product, ?>> columns = new LinkedHashMap<>();
+        columns.put("productId", Product::getProductId);
+        columns.put("productName", Product::getProductName);
+        columns.put("productQuantity", Product::getProductQuantity);
+        return new BulkExporter<>(Product.class, mapper, columns);
+    }
+
+    private static Product product(String id, String name, int quantity) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName(name);
+        product.setProductQuantity(quantity);
+        return product;
+    }
+
+    private String export(List<Product> products, BulkFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(products.size(), exporter().write(products.iterator(), out, format));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testCsvQuotesOnlyWhereNeeded() throws IOException {
+        String csv = export(List.of(product("p1", "Plain", 1), product("p2", "Cap, \"Bambang\"", 2),
+                product("p3", null, 3)), BulkFormat.CSV);
+
+        assertEquals("productId,productName,productQuantity\n"
+                + "p1,Plain,1\n"
+                + "p2,\"Cap, \"\"Bambang\"\"\",2\n"
+                + "p3,,3\n", csv);
+    }
+
+    @Test
+    void testCsvGuardsFormulas() throws IOException {
+        String csv = export(List.of(product("p1", "=HYPERLINK(\"x\")", 1), product("p2", "@SUM(A1)", 2),
+                product("p3", "-5", 3), product("p4", "'+1", 4), product("p5", "'quoted", 5)), BulkFormat.CSV);
+
+        assertEquals("productId,productName,productQuantity\n"
+                + "p1,\"'=HYPERLINK(\"\"x\"\")\",1\n"
+                + "p2,'@SUM(A1),2\n"
+                + "p3,-5,3\n"
+                + "p4,''+1,4\n"
+                + "p5,'quoted,5\n", csv);
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws IOException {
+        String ndjson = export(List.of(product("p1", "One", 1), product("p2", "Two", 2)), BulkFormat.NDJSON);
+
+        String[] lines = ndjson.split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals("Two", mapper.readValue(lines[1], Product.class).getProductName());
+    }
+
+    @Test
+    void testExportImportsBackUnchanged() throws IOException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            products.add(product("p" + i, "Product\n" + i + ", \"quoted\"", i + 1));
+        }
+        for (String name : List.of("=1+1", "-minus", "'@at", "''=two", "'plain", "+7", "\tTab")) {
+            products.add(product("p" + products.size(), name, 1));
+        }
+        for (BulkFormat format : BulkFormat.values()) {
+            List<Product> imported = new ArrayList<>();
+            BulkImporter<Product> importer = new BulkImporter<>(Product.class, Product::getProductId, mapper,
+                    Validation.buildDefaultValidatorFactory().getValidator(), 7);
+
+            ImportReport report = importer.run(new StringReader(export(products, format)), format, imported::addAll);
+
+            assertEquals(products.size(), report.imported());
+            for (int i = 0; i < products.size(); i++) {
+                assertEquals(products.get(i).getProductId(), imported.get(i).getProductId());
+                assertEquals(products.get(i).getProductName(), imported.get(i).getProductName());
+                assertEquals(products.get(i).getProductQuantity(), imported.get(i).getProductQuantity());
+            }
+        }
+    }
+
+    @Test
+    void testTransferCopiesTheWholeFile(@TempDir Path directory) throws IOException {
+        byte[] content = new byte[200_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(directory.resolve("product.snapshot"), content);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertEquals(content.length, BulkExporter.transfer(channel, out));
+        }
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    @Test
+    void testTransferToAFileChannel(@TempDir Path directory) throws IOException {
+        byte[] content = new byte[300_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Path file = Files.write(directory.resolve("car.snapshot"), content);
+        Path copy = directory.resolve("copy.snapshot");
+
+        try (FileChannel source = FileChannel.open(file);
+             FileChannel target = FileChannel.open(copy, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            assertEquals(content.length, BulkExporter.transfer(source, target));
+        }
+        assertArrayEquals(content, Files.readAllBytes(copy));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.example.eshop.bulk;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkImporterTest {
+
+    private static Validator validator;
+
+    private final List<List<Product>> batches = new ArrayList<>();
+
+    @BeforeAll
+    static void setUpValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    private ImportReport run(String input, BulkFormat format, int batchSize) throws IOException {
+        BulkImporter<Product> importer = new BulkImporter<>(Product.class, Product::getProductId, new ObjectMapper(), validator, batchSize);
+        return importer.run(new StringReader(input), format, batch -> batches.add(List.copyOf(batch)));
+    }
+
+    @Test
+    void testCsvRowsAreStoredInBatches() throws IOException {
+        StringBuilder csv = new StringBuilder("productName,productQuantity\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append("Product ").append(i).append(',').append(i + 1).append('\n');
+        }
+
+        ImportReport report = run(csv.toString(), BulkFormat.CSV, 2);
+
+        assertEquals(5, report.imported());
+        assertEquals(0, report.rejected());
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals("Product 4", batches.get(2).get(0).getProductName());
+        assertEquals(5, batches.get(2).get(0).getProductQuantity());
+    }
+
+    @Test
+    void testCsvQuotedFields() throws IOException {
+        String csv = "productQuantity,productName\r\n"
+                + "3,\"Cap, \"\"Bambang\"\"\"\r\n"
+                + "4,\"Two\nlines\"\r\n";
+
+        ImportReport report = run(csv, BulkFormat.CSV, 10);
+
+        assertEquals(2, report.imported());
+        assertEquals("Cap, \"Bambang\"", batches.get(0).get(0).getProductName());
+        assertEquals("Two\nlines", batches.get(0).get(1).getProductName());
+    }
+
+    @Test
+    void testInvalidRowsAreReportedByLine() throws IOException {
+        String csv = "productName,productQuantity\n"
+                + "Good,1\n"
+                + ",5\n"
+                + "Zero,0\n"
+                + "\n"
+                + "Bad,many\n"
+                + "Short\n"
+                + "Also good,2\n";
+
+        ImportReport report = run(csv, BulkFormat.CSV, 10);
+
+        assertEquals(2, report.imported());
+        assertEquals(4, report.rejected());
+        List<Long> lines = report.errors().stream().map(ImportReport.RowError::line).toList();
+        assertEquals(List.of(3L, 4L, 6L, 7L), lines);
+        assertEquals("productName: Product name is required", report.errors().get(0).message());
+        assertEquals("productQuantity: Quantity must be at least 1", report.errors().get(1).message());
+    }
+
+    @Test
+    void testNdjson() throws IOException {
+        String ndjson = "{\"productName\":\"One\",\"productQuantity\":1}\n"
+                + "\n"
+                + "{\"productName\":\"Two\",\"productQuantity\":2,\"unknown\":true}\n"
+                + "{not json}\n";
+
+        ImportReport report = run(ndjson, BulkFormat.NDJSON, 10);
+
+        assertEquals(2, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(4, report.errors().get(0).line());
+        assertEquals("Two", batches.get(0).get(1).getProductName());
+    }
+
+    @Test
+    void testReportedErrorsAreCapped() throws IOException {
+        StringBuilder csv = new StringBuilder("productName,productQuantity\n");
+        for (int i = 0; i < BulkImporter.MAX_REPORTED_ERRORS + 10; i++) {
+            csv.append("Broken,0\n");
+        }
+
+        ImportReport report = run(csv.toString(), BulkFormat.CSV, 100);
+
+        assertEquals(BulkImporter.MAX_REPORTED_ERRORS + 10, report.rejected());
+        assertEquals(BulkImporter.MAX_REPORTED_ERRORS, report.errors().size());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void testUnterminatedQuoteEndsTheImport() throws IOException {
+        ImportReport report = run("productName,productQuantity\nGood,1\n\"Open,2\n", BulkFormat.CSV, 10);
+
+        assertEquals(1, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(3, report.errors().get(0).line());
+    }
+
+    @Test
+    void testExistingAndRepeatedIdsAreRejected() throws IOException {
+        ProductRepository repository = new ProductRepository();
+        Product stored = new Product();
+        stored.setProductId("taken");
+        stored.setProductName("Stored");
+        stored.setProductQuantity(1);
+        repository.create(stored);
+        String csv = "productId,productName,productQuantity\n"
+                + "taken,Overwrite,5\n"
+                + "new-1,First,2\n"
+                + "new-1,Same batch,3\n"
+                + ",No id,4\n"
+                + "new-1,Later batch,6\n";
+        BulkImporter<Product> importer =
+                new BulkImporter<>(Product.class, Product::getProductId, new ObjectMapper(), validator, 4);
+
+        ImportReport report = importer.run(new StringReader(csv), BulkFormat.CSV,
+                id -> repository.findById(id) != null, repository::createAll);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(
+                new ImportReport.RowError(2, "Id taken already exists"),
+                new ImportReport.RowError(4, "Id new-1 repeats an earlier row"),
+                new ImportReport.RowError(6, "Id new-1 already exists")), report.errors());
+        assertEquals("Stored", repository.findById("taken").getProductName());
+        assertEquals("First", repository.findById("new-1").getProductName());
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void testOverwriteReplacesStoredRows() throws IOException {
+        ProductRepository repository = new ProductRepository();
+        Product stored = new Product();
+        stored.setProductId("taken");
+        stored.setProductName("Stored");
+        stored.setProductQuantity(1);
+        repository.create(stored);
+        BulkImporter<Product> importer =
+                new BulkImporter<>(Product.class, Product::getProductId, new ObjectMapper(), validator, 10);
+
+        ImportReport report = importer.run(new StringReader("productId,productName,productQuantity\ntaken,New,5\n"),
+                BulkFormat.CSV, repository::createAll);
+
+        assertEquals(1, report.imported());
+        assertEquals("New", repository.findById("taken").getProductName());
+    }
+
+    @Test
+    void testRejectsNonPositiveBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BulkImporter<>(Product.class, Product::getProductId, new ObjectMapper(), validator, 0));
+    }
+}
\ No newline at end of file
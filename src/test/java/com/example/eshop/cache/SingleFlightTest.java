@@ -0,0 +1,95 @@
+package com.example.eshop.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+    // Starts callers until all but the first are waiting on its load, then lets the load finish
+    private List<Future<String>> runConcurrently(int callers, CountDownLatch release, AtomicInteger loads,
+                                                 RuntimeException failure) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> flight.load("p1", key -> {
+                loads.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return key + "-loaded";
+            })));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.coalesced() < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        return results;
+    }
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<String>> results = runConcurrently(8, new CountDownLatch(1), loads, null);
+
+        assertEquals(1, loads.get());
+        assertEquals(7, flight.coalesced());
+        for (Future<String> result : results) {
+            assertEquals("p1-loaded", result.get());
+        }
+    }
+
+    @Test
+    void testFailureReachesWaitersButIsNotKept() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("store unavailable");
+
+        List<Future<String>> results = runConcurrently(4, new CountDownLatch(1), loads, failure);
+
+        assertEquals(1, loads.get());
+        for (Future<String> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+            assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        }
+        assertEquals("p1-again", flight.load("p1", key -> key + "-again"));
+    }
+
+    @Test
+    void testForgetStartsAFreshLoad() {
+        String result = flight.load("p1", key -> {
+            flight.forget(key);
+            // A caller arriving after the write must not join the load that started before it
+            return flight.load(key, again -> "fresh");
+        });
+
+        assertEquals("fresh", result);
+        assertEquals(0, flight.coalesced());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.example.eshop.cache;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.StoreListener;
+import com.example.eshop.service.ProductService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void testLoadsOnceAndCountsHitsAndMisses() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("a!", cache.get("a", key -> {
+            loads.incrementAndGet();
+            return key + "!";
+        }));
+        assertEquals("a!", cache.get("a", key -> key + "?"));
+        assertEquals("a!", cache.getIfPresent("a"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, loads.get());
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void testNullIsNotCached() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 100);
+
+        assertNull(cache.get("missing", key -> null));
+        assertEquals("found", cache.get("missing", key -> "found"));
+    }
+
+    @Test
+    void testInvalidateDropsEntry() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 100);
+        cache.get("a", key -> "old");
+
+        cache.invalidate("a");
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("new", cache.get("a", key -> "new"));
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotCached() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 100);
+
+        // The row changes while the loader is still holding its old copy
+        String loaded = cache.get("a", key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent("a"));
+    }
+
+    @Test
+    void testSizeStaysBounded() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 50);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get("key" + i, key -> key);
+        }
+
+        assertTrue(cache.size() <= 50);
+        assertEquals(1000 - cache.size(), cache.stats().evictions());
+    }
+
+    @Test
+    void testScanDoesNotFlushFrequentKeys() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 100);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot" + i, key -> key);
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get("scan" + i, key -> key);
+        }
+
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.getIfPresent("hot" + i) != null) {
+                retained++;
+            }
+        }
+        assertEquals(50, retained);
+    }
+
+    @Test
+    void testRejectsNonPositiveMaximumSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<String, String>("test", 0));
+    }
+
+    @Test
+    void testCachingServiceNeverServesARowAfterItChanged() {
+        ProductRepository productRepository = new ProductRepository();
+        ProductService delegate = mock(ProductService.class);
+        when(delegate.findById(anyString()))
+                .thenAnswer(invocation -> productRepository.findById(invocation.getArgument(0)));
+        TinyLfuCache<String, Product> cache = new TinyLfuCache<>("product", 100);
+        productRepository.addListener(new CacheInvalidation<>(cache::invalidate));
+        CachingProductService service = new CachingProductService(delegate, cache);
+
+        Product product = new Product();
+        product.setProductId("p1");
+        product.setProductName("Before");
+        product.setProductQuantity(1);
+        productRepository.create(product);
+        assertEquals("Before", service.findById("p1").getProductName());
+
+        Product edited = new Product();
+        edited.setProductId("p1");
+        edited.setProductName("After");
+        edited.setProductQuantity(1);
+        productRepository.update(edited);
+        assertEquals("After", service.findById("p1").getProductName());
+
+        productRepository.deleteById("p1");
+        assertNull(service.findById("p1"));
+    }
+
+    // A reader that runs while the writer is still inside the row lock loads the old row and caches it
+    @Test
+    void testLoadInterleavedWithAWriteIsDroppedOnceTheWriteCommits() throws Exception {
+        ProductRepository productRepository = new ProductRepository();
+        TinyLfuCache<String, Product> cache = new TinyLfuCache<>("product", 100);
+        productRepository.addListener(new CacheInvalidation<>(cache::invalidate));
+        List<String> loadedDuringWrite = new ArrayList<>();
+        productRepository.addListener(new StoreListener<>() {
+            @Override
+            public void onSave(String id, Product previous, Product current) {
+                if (previous == null) {
+                    return;
+                }
+                Thread reader = new Thread(() ->
+                        loadedDuringWrite.add(cache.get(id, productRepository::findById).getProductName()));
+                reader.start();
+                try {
+                    reader.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onDelete(String id, Product previous) {
+            }
+        });
+
+        Product product = new Product();
+        product.setProductId("p1");
+        product.setProductName("Before");
+        product.setProductQuantity(1);
+        productRepository.create(product);
+
+        Product edited = new Product();
+        edited.setProductId("p1");
+        edited.setProductName("After");
+        edited.setProductQuantity(1);
+        productRepository.update(edited);
+
+        assertEquals(List.of("Before"), loadedDuringWrite);
+        assertEquals("After", cache.get("p1", productRepository::findById).getProductName());
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.eshop.controller;
 
+import com.example.eshop.analytics.AnalyticsService;
+import com.example.eshop.analytics.InventoryAnalytics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -8,13 +10,18 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.ui.Model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class MainControllerTest {
 
     @InjectMocks
     private MainController mainController;
 
+    @Mock
+    private AnalyticsService analyticsService;
+
     @Mock
     private Model model;
 
@@ -25,7 +32,11 @@ class MainControllerTest {
 
     @Test
     void testMainPage() {
-        String viewName = mainController.mainPage();
+        InventoryAnalytics inventory = mock(InventoryAnalytics.class);
+        when(analyticsService.latest(5)).thenReturn(inventory);
+
+        String viewName = mainController.mainPage(model);
         assertEquals("homePage", viewName, "Should return homePage view");
+        verify(model).addAttribute("inventory", inventory);
     }
 }
\ No newline at end of file
@@ -1,19 +1,29 @@
 package com.example.eshop.controller;
 
+import com.example.eshop.events.ChangeFeed;
 import com.example.eshop.model.Product;
+import com.example.eshop.repository.Page;
 import com.example.eshop.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -28,6 +38,9 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ChangeFeed<Product> productChangeFeed;
+
     @Mock
     private BindingResult bindingResult;
 
@@ -36,6 +49,12 @@ class ProductControllerTest {
 
     private Product validProduct;
 
+    private MockHttpServletRequest servletRequest;
+
+    private MockHttpServletResponse servletResponse;
+
+    private ServletWebRequest request;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -43,6 +62,9 @@ class ProductControllerTest {
         validProduct.setProductId("test-id");
         validProduct.setProductName("Test Product");
         validProduct.setProductQuantity(10);
+        servletRequest = new MockHttpServletRequest("GET", "/product/list");
+        servletResponse = new MockHttpServletResponse();
+        request = new ServletWebRequest(servletRequest, servletResponse);
     }
 
     @Test
@@ -74,26 +96,130 @@ class ProductControllerTest {
     void testProductListPage() {
         List<Product> productList = new ArrayList<>();
         productList.add(validProduct);
-        when(productService.findAll()).thenReturn(productList);
+        when(productService.findPage(null, 50)).thenReturn(new Page<>(productList, "1"));
 
-        String viewName = productController.productListPage(model);
+        String viewName = productController.productListPage(null, 50, request, model);
         assertEquals("productList", viewName, "Should display productList page");
-        verify(productService).findAll();
+        verify(productService).findPage(null, 50);
         verify(model).addAttribute(eq("products"), eq(productList));
+        verify(model).addAttribute("nextCursor", "1");
+    }
+
+    @Test
+    void testProductListPageRecordsChangeSequence() {
+        when(productChangeFeed.lastSequence()).thenReturn(42L);
+        when(productService.findPage(null, 50)).thenReturn(new Page<>(new ArrayList<>(), null));
+
+        productController.productListPage(null, 50, request, model);
+        verify(model).addAttribute("changeSequence", 42L);
+    }
+
+    @Test
+    void testProductListPageSendsVersionETag() {
+        when(productService.version()).thenReturn(7L);
+        when(productService.findPage(null, 50)).thenReturn(new Page<>(new ArrayList<>(), null));
+
+        productController.productListPage(null, 50, request, model);
+        assertEquals(ETags.of(7L), servletResponse.getHeader("ETag"));
+    }
+
+    @Test
+    void testProductListPageNotModifiedSkipsTheRead() {
+        when(productService.version()).thenReturn(7L);
+        servletRequest.addHeader("If-None-Match", ETags.of(7L));
+
+        String viewName = productController.productListPage(null, 50, request, model);
+        assertNull(viewName);
+        assertEquals(304, servletResponse.getStatus());
+        verify(productService, never()).findPage(any(), eq(50));
+    }
+
+    @Test
+    void testProductListPageRendersAfterAChange() {
+        when(productService.version()).thenReturn(8L);
+        when(productService.findPage(null, 50)).thenReturn(new Page<>(new ArrayList<>(), null));
+        servletRequest.addHeader("If-None-Match", ETags.of(7L));
+
+        String viewName = productController.productListPage(null, 50, request, model);
+        assertEquals("productList", viewName);
+        assertEquals(200, servletResponse.getStatus());
+    }
+
+    @Test
+    void testProductEventsResumeFromLastEventId() {
+        productController.productEvents(5L, 9L);
+        verify(productChangeFeed).subscribe(9L);
+
+        productController.productEvents(5L, null);
+        verify(productChangeFeed).subscribe(5L);
+
+        when(productChangeFeed.lastSequence()).thenReturn(42L);
+        productController.productEvents(null, null);
+        verify(productChangeFeed).subscribe(42L);
+    }
+
+    @Test
+    void testProductListPageClampsPageSize() {
+        when(productService.findPage(null, 500)).thenReturn(new Page<>(new ArrayList<>(), null));
+
+        productController.productListPage(null, 100000, request, model);
+        verify(productService).findPage(null, 500);
+    }
+
+    @Test
+    void testProductListPageWithMalformedCursor() {
+        when(productService.findPage("bogus", 50)).thenThrow(new IllegalArgumentException());
+
+        String viewName = productController.productListPage("bogus", 50, request, model);
+        assertEquals("redirect:/product/list", viewName, "Should restart from the first page");
+    }
+
+    @Test
+    void testProductListAllPageStreamsFromIterator() {
+        List<Product> productList = new ArrayList<>();
+        for (int i = 0; i < 201; i++) {
+            productList.add(validProduct);
+        }
+        when(productService.iterateAll()).thenReturn(productList.iterator());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String viewName = productController.productListAllPage(response, request, model);
+        assertEquals("productList", viewName, "Should reuse the productList template");
+
+        ArgumentCaptor<Object> products = ArgumentCaptor.forClass(Object.class);
+        verify(model).addAttribute(eq("products"), products.capture());
+        Iterator<?> rows = (Iterator<?>) products.getValue();
+        for (int i = 0; i < 200; i++) {
+            rows.next();
+        }
+        assertFalse(response.isCommitted(), "Should not flush before a full chunk is rendered");
+        rows.next();
+        assertTrue(response.isCommitted(), "Should flush once a full chunk is rendered");
+        verify(productService, never()).findAll();
     }
 
     @Test
     void testEditProductPageProductFound() {
         when(productService.findById("test-id")).thenReturn(validProduct);
-        String viewName = productController.editProductPage("test-id", model);
+        String viewName = productController.editProductPage("test-id", request, model);
         assertEquals("editProduct", viewName, "Should return editProduct page if the product is found");
         verify(model).addAttribute(eq("product"), eq(validProduct));
     }
 
+    @Test
+    void testEditProductPageNotModified() {
+        when(productService.versionOf("test-id")).thenReturn(3L);
+        servletRequest.addHeader("If-None-Match", ETags.of(3L));
+
+        assertNull(productController.editProductPage("test-id", request, model));
+        assertEquals(304, servletResponse.getStatus());
+        verify(productService, never()).findById("test-id");
+    }
+
     @Test
     void testEditProductPageProductNotFound() {
         when(productService.findById("missing-id")).thenReturn(null);
-        String viewName = productController.editProductPage("missing-id", model);
+        String viewName = productController.editProductPage("missing-id", request, model);
         assertEquals("redirect:/product/list", viewName, "Should redirect to product list if product not found");
     }
 
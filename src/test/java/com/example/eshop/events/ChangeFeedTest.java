@@ -0,0 +1,98 @@
+package com.example.eshop.events;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedTest {
+
+    // Counts sends and can be made to block in send, the way a client that stopped reading would
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch released;
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private RecordingEmitter(CountDownLatch released) {
+            this.released = released;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            super.complete();
+            completed.countDown();
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testStalledSubscriberIsEvictedWithoutHoldingUpOthers() throws InterruptedException {
+        ChangeRing<String> ring = new ChangeRing<>(1 << 13);
+        CountDownLatch stall = new CountDownLatch(1);
+        try (ChangeFeed<String> feed = new ChangeFeed<>("test", ring)) {
+            RecordingEmitter stalled = new RecordingEmitter(stall);
+            RecordingEmitter healthy = new RecordingEmitter(new CountDownLatch(0));
+            feed.subscribe(0, stalled);
+            feed.subscribe(0, healthy);
+
+            // Published in bursts the healthy client keeps up with, while the stalled one falls behind
+            int burst = ChangeFeed.QUEUE_CAPACITY / 2;
+            int events = 4 * burst;
+            for (int published = 0; published < events; published += burst) {
+                for (int i = published; i < published + burst; i++) {
+                    ring.onSave("id-" + i, null, "item-" + i);
+                }
+                int expected = published + burst;
+                awaitCondition(() -> healthy.sent.size() == expected);
+            }
+            awaitCondition(() -> feed.subscriberCount() == 1);
+
+            // Once the stalled client drains, it is told to reload instead of getting the rest
+            stall.countDown();
+            assertTrue(stalled.completed.await(10, TimeUnit.SECONDS));
+            assertTrue(stalled.sent.size() < events);
+            assertEquals(events, healthy.sent.size());
+        }
+    }
+
+    @Test
+    void testCloseCompletesSubscribers() throws InterruptedException {
+        ChangeRing<String> ring = new ChangeRing<>(8);
+        ChangeFeed<String> feed = new ChangeFeed<>("test", ring);
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        feed.subscribe(0, emitter);
+        ring.onSave("id-1", null, "item");
+        awaitCondition(() -> emitter.sent.size() == 1);
+
+        feed.close();
+
+        assertTrue(emitter.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(0, feed.subscriberCount());
+    }
+}
\ No newline at end of file
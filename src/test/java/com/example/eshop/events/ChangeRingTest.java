@@ -0,0 +1,73 @@
+package com.example.eshop.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeRingTest {
+
+    @Test
+    void testReadsEventsAfterSequenceInOrder() {
+        ChangeRing<String> ring = new ChangeRing<>(8);
+        ring.onSave("id-1", null, "first");
+        ring.onSave("id-1", "first", "second");
+        ring.onDelete("id-1", "second");
+
+        List<ChangeEvent<String>> events = new ArrayList<>();
+        assertEquals(3, ring.read(1, 10, events::add));
+        assertEquals(2, events.size());
+        assertEquals(new ChangeEvent<>(2, ChangeEvent.Type.SAVE, "id-1", "second"), events.get(0));
+        assertEquals(ChangeEvent.Type.DELETE, events.get(1).type());
+        assertNull(events.get(1).item());
+
+        events.clear();
+        assertEquals(2, ring.read(0, 2, events::add));
+        assertEquals(2, events.size());
+        assertEquals(3, ring.read(3, 10, events::add));
+    }
+
+    @Test
+    void testReaderThatFellBehindGetsGap() {
+        ChangeRing<String> ring = new ChangeRing<>(4);
+        for (int i = 0; i < 6; i++) {
+            ring.onSave("id-" + i, null, "item");
+        }
+
+        assertEquals(ChangeRing.GAP, ring.read(1, 10, event -> { }));
+        assertEquals(6, ring.read(2, 10, event -> { }));
+        assertEquals(ChangeRing.GAP, ring.read(7, 10, event -> { }));
+    }
+
+    @Test
+    void testRejectsCapacityThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeRing<String>(100));
+    }
+
+    @Test
+    void testConcurrentProducersPublishEverySequenceOnce() throws InterruptedException {
+        ChangeRing<Integer> ring = new ChangeRing<>(1 << 14);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 10_000; i++) {
+            int item = i;
+            executor.execute(() -> ring.onSave("id-" + item, null, item));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<ChangeEvent<Integer>> events = new ArrayList<>();
+        assertEquals(10_000, ring.read(0, Integer.MAX_VALUE, events::add));
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i + 1, events.get(i).sequence());
+        }
+        assertEquals(10_000, events.stream().map(ChangeEvent::item).distinct().count());
+    }
+}
\ No newline at end of file
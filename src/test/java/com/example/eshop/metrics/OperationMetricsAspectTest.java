@@ -0,0 +1,54 @@
+package com.example.eshop.metrics;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.repository.ProductRepositoryInterface;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private ProductRepositoryInterface productRepository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ProductRepository());
+        factory.addAspect(new OperationMetricsAspect(registry));
+        productRepository = factory.getProxy();
+    }
+
+    @Test
+    void testRecordsLatencyPerMethod() {
+        Product product = new Product();
+        product.setProductId("id-1");
+        product.setProductName("Sampo Cap Bambang");
+        product.setProductQuantity(1);
+        productRepository.create(product);
+        productRepository.findById("id-1");
+        productRepository.findById("id-2");
+
+        assertEquals(2, registry.get(OperationMetricsAspect.REPOSITORY_TIMER)
+                .tags("class", "ProductRepository", "method", "findById", "outcome", "success")
+                .timer().count());
+        assertEquals(1, registry.get(OperationMetricsAspect.REPOSITORY_TIMER)
+                .tags("method", "create").timer().count());
+    }
+
+    @Test
+    void testCountsFailures() {
+        assertThrows(IllegalArgumentException.class, () -> productRepository.findPage("not-a-cursor", 10));
+
+        assertEquals(1, registry.get(OperationMetricsAspect.ERROR_COUNTER)
+                .tags("method", "findPage", "exception", "IllegalArgumentException")
+                .counter().count());
+        assertEquals(1, registry.get(OperationMetricsAspect.REPOSITORY_TIMER)
+                .tags("method", "findPage", "outcome", "error").timer().count());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.eshop.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactIdTest {
+
+    @Test
+    void testGeneratedIdsIncreaseAndSortAsStrings() {
+        List<CompactId> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(CompactId.generate());
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            CompactId previous = ids.get(i - 1);
+            CompactId current = ids.get(i);
+            assertTrue(previous.compareTo(current) < 0);
+            assertTrue(previous.toString().compareTo(current.toString()) < 0);
+        }
+    }
+
+    @Test
+    void testStringFormIsAVersion7Uuid() {
+        long before = System.currentTimeMillis();
+        CompactId id = CompactId.generate();
+        UUID uuid = UUID.fromString(id.toString());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(id, CompactId.parse(id.toString()));
+        assertTrue(id.timestampMillis() >= before);
+    }
+
+    @Test
+    void testParseAcceptsOnlyCanonicalLowercase() {
+        assertNull(CompactId.parse("test-id"));
+        assertNull(CompactId.parse(null));
+        assertNull(CompactId.parse("0190A1B2-C3D4-7E5F-8A6B-7C8D9E0F1A2B"));
+        assertEquals("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b",
+                CompactId.parse("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b").toString());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.Car;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CarRepositoryTest {
+
+    private CarRepository carRepository;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = new CarRepository();
+    }
+
+    private Car createCar(String carId, String carName, String carColor) {
+        Car car = new Car();
+        car.setCarId(carId);
+        car.setCarName(carName);
+        car.setCarColor(carColor);
+        car.setCarQuantity(1);
+        return carRepository.create(car);
+    }
+
+    @Test
+    void testCreateGeneratesIdIfMissing() {
+        Car car = createCar(null, "Avanza", "Red");
+        assertNotNull(car.getCarId());
+        assertEquals(car, carRepository.findById(car.getCarId()));
+    }
+
+    @Test
+    void testFindByColor() {
+        createCar("car-1", "Avanza", "Red");
+        createCar("car-2", "Xenia", "Blue");
+        createCar("car-3", "Jazz", "Red");
+
+        List<Car> redCars = carRepository.findByColor("Red");
+        assertEquals(2, redCars.size());
+        assertEquals("car-1", redCars.get(0).getCarId());
+        assertEquals("car-3", redCars.get(1).getCarId());
+        assertTrue(carRepository.findByColor("Green").isEmpty());
+    }
+
+    @Test
+    void testFindByColorFollowsUpdate() {
+        createCar("car-1", "Avanza", "Red");
+
+        Car repainted = new Car();
+        repainted.setCarId("car-1");
+        repainted.setCarName("Avanza");
+        repainted.setCarColor("Black");
+        carRepository.update(repainted);
+
+        assertTrue(carRepository.findByColor("Red").isEmpty());
+        assertEquals(1, carRepository.findByColor("Black").size());
+    }
+
+    @Test
+    void testFindByNameAfterDelete() {
+        createCar("car-1", "Avanza", "Red");
+        carRepository.deleteById("car-1");
+
+        assertTrue(carRepository.findByName("Avanza").isEmpty());
+        assertNull(carRepository.findById("car-1"));
+    }
+
+    @Test
+    void testAdjustQuantityRefusesToGoBelowZero() {
+        createCar("car-1", "Avanza", "Red");
+
+        assertTrue(carRepository.adjustQuantity("car-1", -1));
+        assertFalse(carRepository.adjustQuantity("car-1", -1));
+        assertEquals(0, carRepository.findById("car-1").getCarQuantity());
+        assertEquals(1, carRepository.findByColor("Red").size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,265 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.Car;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapCarRepositoryTest {
+
+    private OffHeapCarRepository carRepository;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = new OffHeapCarRepository();
+    }
+
+    private Car createCar(String carId, String carName, String carColor, int carQuantity) {
+        Car car = new Car();
+        car.setCarId(carId);
+        car.setCarName(carName);
+        car.setCarColor(carColor);
+        car.setCarQuantity(carQuantity);
+        return carRepository.create(car);
+    }
+
+    @Test
+    void testCreateAndFindByGeneratedId() {
+        Car car = createCar(null, "Avanza", "Red", 3);
+        assertNotNull(car.getCarId());
+
+        Car found = carRepository.findById(car.getCarId());
+        assertEquals(car.getCarId(), found.getCarId());
+        assertEquals("Avanza", found.getCarName());
+        assertEquals("Red", found.getCarColor());
+        assertEquals(3, found.getCarQuantity());
+    }
+
+    @Test
+    void testNonUuidIdsAndNullAttributes() {
+        createCar("car-1", null, null, 0);
+
+        Car found = carRepository.findById("car-1");
+        assertNull(found.getCarName());
+        assertNull(found.getCarColor());
+        assertNull(carRepository.findById("car-2"));
+        assertNull(carRepository.findById(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void testUpdateRewritesColumns() {
+        createCar("car-1", "Jazz", "Red", 1);
+
+        Car updated = new Car();
+        updated.setCarId("car-1");
+        updated.setCarName("Jazz RS with a much longer name");
+        updated.setCarColor("Blue");
+        updated.setCarQuantity(7);
+        assertNotNull(carRepository.update(updated));
+
+        Car found = carRepository.findById("car-1");
+        assertEquals("Jazz RS with a much longer name", found.getCarName());
+        assertEquals("Blue", found.getCarColor());
+        assertEquals(7, found.getCarQuantity());
+        assertTrue(carRepository.findByColor("Red").isEmpty());
+    }
+
+    @Test
+    void testUpdateMissingCarReturnsNull() {
+        Car car = new Car();
+        car.setCarId("missing");
+        assertNull(carRepository.update(car));
+    }
+
+    @Test
+    void testDeleteAndOrderAcrossGrowth() {
+        for (int i = 0; i < 3000; i++) {
+            createCar("car-" + i, "Car " + i, i % 2 == 0 ? "Red" : "Blue", i);
+        }
+        for (int i = 0; i < 3000; i += 3) {
+            carRepository.deleteById("car-" + i);
+        }
+
+        assertNull(carRepository.findById("car-0"));
+        assertEquals("Car 2999", carRepository.findById("car-2999").getCarName());
+        assertEquals(1000, carRepository.findByColor("Red").size());
+        assertEquals(1, carRepository.findByName("Car 1").size());
+
+        int count = 0;
+        Iterator<Car> cars = carRepository.findAll();
+        assertEquals("car-1", cars.next().getCarId());
+        count++;
+        while (cars.hasNext()) {
+            cars.next();
+            count++;
+        }
+        assertEquals(2000, count);
+    }
+
+    @Test
+    void testFindPage() {
+        for (int i = 0; i < 5; i++) {
+            createCar("car-" + i, "Car " + i, "Red", i);
+        }
+        carRepository.deleteById("car-1");
+
+        Page<Car> first = carRepository.findPage(null, 2);
+        assertEquals("car-0", first.items().get(0).getCarId());
+        assertEquals("car-2", first.items().get(1).getCarId());
+
+        Page<Car> second = carRepository.findPage(first.nextCursor(), 2);
+        List<Car> items = second.items();
+        assertEquals("car-3", items.get(0).getCarId());
+        assertEquals("car-4", items.get(1).getCarId());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testAdjustQuantityKeepsOtherColumns() {
+        createCar("car-1", "Avanza", "Red", 3);
+
+        assertTrue(carRepository.adjustQuantity("car-1", -3));
+        assertFalse(carRepository.adjustQuantity("car-1", -1));
+        assertTrue(carRepository.adjustQuantity("car-1", 2));
+        assertFalse(carRepository.adjustQuantity("missing", 1));
+
+        Car found = carRepository.findById("car-1");
+        assertEquals(2, found.getCarQuantity());
+        assertEquals("Avanza", found.getCarName());
+        assertEquals("Red", found.getCarColor());
+    }
+
+    @Test
+    void testVersionsMoveOnEveryChange() {
+        createCar("car-1", "Jazz", "Red", 1);
+        long created = carRepository.versionOf("car-1");
+        assertEquals(1, carRepository.version());
+        assertTrue(created > 0);
+
+        createCar("car-1", "Jazz", "Blue", 1);
+        assertTrue(carRepository.versionOf("car-1") > created);
+
+        carRepository.deleteById("car-1");
+        assertEquals(0, carRepository.versionOf("car-1"));
+        assertEquals(3, carRepository.version());
+    }
+
+    @Test
+    void testCreateAllGrowsColumns() {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Car car = new Car();
+            car.setCarName("Car " + i);
+            car.setCarColor(i % 2 == 0 ? "Red" : "Blue");
+            car.setCarQuantity(i);
+            cars.add(car);
+        }
+
+        carRepository.createAll(cars);
+
+        assertEquals(3000, carRepository.count());
+        Car last = carRepository.findById(cars.get(2999).getCarId());
+        assertEquals("Car 2999", last.getCarName());
+        assertEquals("Blue", last.getCarColor());
+    }
+
+    @Test
+    void testChurnReusesSlotsAndArena() {
+        for (int i = 0; i < 1000; i++) {
+            createCar("car-" + i, "Car with a fairly long name " + i, "Red", i);
+        }
+        int slots = carRepository.slotCapacity();
+        int arena = carRepository.arenaCapacity();
+        int idTable = carRepository.idTableLength();
+
+        // Each round deletes every row and creates as many new ones, so only garbage would pile up
+        for (int round = 1; round <= 50; round++) {
+            for (int i = 0; i < 1000; i++) {
+                carRepository.deleteById("car-" + (round - 1) + "-" + i);
+                carRepository.deleteById("car-" + i);
+            }
+            for (int i = 0; i < 1000; i++) {
+                createCar("car-" + round + "-" + i, "Car with a fairly long name " + round + "/" + i, "Blue", i);
+            }
+        }
+
+        assertEquals(1000, carRepository.count());
+        assertEquals(slots, carRepository.slotCapacity());
+        assertEquals(arena, carRepository.arenaCapacity());
+        assertEquals(idTable, carRepository.idTableLength());
+        Car found = carRepository.findById("car-50-999");
+        assertEquals("Car with a fairly long name 50/999", found.getCarName());
+        assertEquals(999, found.getCarQuantity());
+        assertNull(carRepository.findById("car-49-0"));
+        assertEquals(1000, carRepository.findByColor("Blue").size());
+        assertTrue(carRepository.findByColor("Red").isEmpty());
+    }
+
+    @Test
+    void testRenamesReclaimArenaSpace() {
+        createCar("car-1", "Short", "Red", 1);
+        int arena = carRepository.arenaCapacity();
+        for (int i = 0; i < 10_000; i++) {
+            Car car = carRepository.findById("car-1");
+            car.setCarName("A name that keeps getting longer " + i);
+            carRepository.update(car);
+        }
+
+        assertEquals(arena, carRepository.arenaCapacity());
+        assertEquals("A name that keeps getting longer 9999", carRepository.findById("car-1").getCarName());
+    }
+
+    @Test
+    void testFindAllSkipsRowsDeletedWhileIterating() {
+        for (int i = 0; i < 10; i++) {
+            createCar("car-" + i, "Car " + i, "Red", i);
+        }
+        Iterator<Car> cars = carRepository.findAll();
+        assertEquals("car-0", cars.next().getCarId());
+        assertTrue(cars.hasNext());
+        carRepository.deleteById("car-2");
+        for (int i = 3; i < 10; i++) {
+            carRepository.deleteById("car-" + i);
+        }
+
+        // car-1 was already fetched by hasNext; the rest are gone
+        assertEquals("car-1", cars.next().getCarId());
+        assertFalse(cars.hasNext());
+    }
+
+    @Test
+    void testPagingSeesEveryRowThatLivesThroughIt() {
+        for (int i = 0; i < 10; i++) {
+            createCar("car-" + i, "Car " + i, "Red", i);
+        }
+        Page<Car> first = carRepository.findPage(null, 5);
+        carRepository.deleteById("car-1");
+        createCar("car-new", "New", "Red", 1);
+
+        Page<Car> second = carRepository.findPage(first.nextCursor(), 10);
+        assertEquals(List.of("car-5", "car-6", "car-7", "car-8", "car-9"),
+                second.items().stream().map(Car::getCarId).toList());
+        assertEquals("car-new", carRepository.findPage(null, 2).items().get(1).getCarId());
+    }
+
+    @Test
+    void testCursorsOutsideTheSlotRangeAreRejected() {
+        createCar("car-1", "Car", "Red", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> carRepository.findPage("-5", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> carRepository.findPage(Integer.toString(Integer.MAX_VALUE), 10));
+        assertTrue(carRepository.findPage("1000", 10).items().isEmpty());
+    }
+}
\ No newline at end of file
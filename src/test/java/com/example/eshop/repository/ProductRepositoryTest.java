@@ -7,12 +7,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -206,4 +213,314 @@ public class ProductRepositoryTest {
         Iterator<Product> productIterator = productRepository.findAll();
         assertFalse(productIterator.hasNext(), "Expected an empty repository if product was never there");
     }
+
+    @Test
+    void testConcurrentCreateKeepsEveryProduct() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            int index = i;
+            executor.submit(() -> {
+                Product product = new Product();
+                product.setProductName("Product " + index);
+                product.setProductQuantity(index + 1);
+                productRepository.create(product);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int count = 0;
+        Iterator<Product> productIterator = productRepository.findAll();
+        while (productIterator.hasNext()) {
+            Product product = productIterator.next();
+            assertNotNull(productRepository.findById(product.getProductId()));
+            count++;
+        }
+        assertEquals(1000, count);
+    }
+
+    @Test
+    void testCreateWithExistingIdKeepsInsertionPosition() {
+        Product product1 = new Product();
+        product1.setProductId("id-1");
+        product1.setProductName("Product 1");
+        productRepository.create(product1);
+
+        Product product2 = new Product();
+        product2.setProductId("id-2");
+        product2.setProductName("Product 2");
+        productRepository.create(product2);
+
+        Product replacement = new Product();
+        replacement.setProductId("id-1");
+        replacement.setProductName("Replacement");
+        productRepository.create(replacement);
+
+        Iterator<Product> productIterator = productRepository.findAll();
+        assertEquals("Replacement", productIterator.next().getProductName());
+        assertEquals("id-2", productIterator.next().getProductId());
+        assertFalse(productIterator.hasNext());
+    }
+
+    @Test
+    void testFindByNameFollowsUpdatesAndDeletes() {
+        Product product1 = new Product();
+        product1.setProductId("id-1");
+        product1.setProductName("Sampo");
+        productRepository.create(product1);
+
+        Product product2 = new Product();
+        product2.setProductId("id-2");
+        product2.setProductName("Sampo");
+        productRepository.create(product2);
+
+        List<Product> result = productRepository.findByName("Sampo");
+        assertEquals(2, result.size());
+        assertEquals("id-1", result.get(0).getProductId());
+
+        Product renamed = new Product();
+        renamed.setProductId("id-1");
+        renamed.setProductName("Sabun");
+        productRepository.update(renamed);
+        productRepository.deleteById("id-2");
+
+        assertTrue(productRepository.findByName("Sampo").isEmpty());
+        assertEquals("id-1", productRepository.findByName("Sabun").get(0).getProductId());
+    }
+
+    @Test
+    void testFindByNameFollowsAnUpdateOfTheStoredInstance() {
+        Product product = new Product();
+        product.setProductId("id-1");
+        product.setProductName("Sampo");
+        productRepository.create(product);
+
+        // The stored instance itself, mutated and passed back, as an edit form handler might
+        Product stored = productRepository.findById("id-1");
+        stored.setProductName("Sabun");
+        productRepository.update(stored);
+
+        assertTrue(productRepository.findByName("Sampo").isEmpty());
+        assertEquals(1, productRepository.findByName("Sabun").size());
+
+        productRepository.deleteById("id-1");
+        assertTrue(productRepository.findByName("Sabun").isEmpty());
+    }
+
+    @Test
+    void testFindPageWalksAllProductsInOrder() {
+        for (int i = 0; i < 5; i++) {
+            Product product = new Product();
+            product.setProductId("id-" + i);
+            product.setProductName("Product " + i);
+            productRepository.create(product);
+        }
+
+        Page<Product> first = productRepository.findPage(null, 2);
+        assertEquals(2, first.items().size());
+        assertEquals("id-0", first.items().get(0).getProductId());
+        assertTrue(first.hasNext());
+
+        Page<Product> second = productRepository.findPage(first.nextCursor(), 2);
+        assertEquals("id-2", second.items().get(0).getProductId());
+
+        Page<Product> last = productRepository.findPage(second.nextCursor(), 2);
+        assertEquals(1, last.items().size());
+        assertEquals("id-4", last.items().get(0).getProductId());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testFindPageSurvivesDeletionOfCursorRow() {
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product();
+            product.setProductId("id-" + i);
+            product.setProductName("Product " + i);
+            productRepository.create(product);
+        }
+
+        Page<Product> first = productRepository.findPage(null, 1);
+        productRepository.deleteById("id-0");
+
+        Page<Product> second = productRepository.findPage(first.nextCursor(), 1);
+        assertEquals("id-1", second.items().get(0).getProductId());
+    }
+
+    @Test
+    void testFindPageRejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> productRepository.findPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void testAdjustQuantityRefusesToGoBelowZero() {
+        Product product = new Product();
+        product.setProductId("id-1");
+        product.setProductName("Sampo Cap Bambang");
+        product.setProductQuantity(3);
+        productRepository.create(product);
+
+        assertTrue(productRepository.adjustQuantity("id-1", -2));
+        assertFalse(productRepository.adjustQuantity("id-1", -2));
+        assertEquals(1, productRepository.findById("id-1").getProductQuantity());
+        assertTrue(productRepository.adjustQuantity("id-1", 4));
+        assertEquals(5, productRepository.findById("id-1").getProductQuantity());
+        assertFalse(productRepository.adjustQuantity("missing", 1));
+        // The stored row is replaced, not mutated in place
+        assertEquals(3, product.getProductQuantity());
+    }
+
+    @Test
+    void testConcurrentReservationsNeverOversell() throws InterruptedException {
+        Product product = new Product();
+        product.setProductId("id-1");
+        product.setProductName("Sampo Cap Bambang");
+        product.setProductQuantity(1000);
+        productRepository.create(product);
+
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1500; i++) {
+            executor.execute(() -> {
+                if (productRepository.adjustQuantity("id-1", -1)) {
+                    reserved.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, reserved.get());
+        assertEquals(0, productRepository.findById("id-1").getProductQuantity());
+    }
+
+    @Test
+    void testVersionsMoveOnEveryChange() {
+        Product product = new Product();
+        product.setProductId("id-1");
+        product.setProductName("Sampo Cap Bambang");
+        product.setProductQuantity(3);
+        assertEquals(0, productRepository.version());
+        assertEquals(0, productRepository.versionOf("id-1"));
+
+        productRepository.create(product);
+        long created = productRepository.versionOf("id-1");
+        assertEquals(1, productRepository.version());
+        assertTrue(created > 0);
+
+        assertTrue(productRepository.adjustQuantity("id-1", -1));
+        assertEquals(2, productRepository.version());
+        assertTrue(productRepository.versionOf("id-1") > created);
+
+        // Changes that do not happen leave the version alone
+        assertFalse(productRepository.adjustQuantity("id-1", -10));
+        productRepository.deleteById("missing");
+        assertEquals(2, productRepository.version());
+
+        productRepository.deleteById("id-1");
+        assertEquals(3, productRepository.version());
+        assertEquals(0, productRepository.versionOf("id-1"));
+    }
+
+    @Test
+    void testCreateAll() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + i);
+            product.setProductQuantity(i + 1);
+            products.add(product);
+        }
+
+        productRepository.createAll(products);
+
+        assertEquals(3, productRepository.count());
+        assertEquals(3, productRepository.version());
+        Iterator<Product> all = productRepository.findAll();
+        for (Product product : products) {
+            assertNotNull(product.getProductId());
+            assertEquals(product, all.next());
+        }
+    }
+
+    @Test
+    void testCompactAndFreeFormIdsAreKeptApart() {
+        String[] ids = {"0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b", "0190A1B2-C3D4-7E5F-8A6B-7C8D9E0F1A2B", "plain-id"};
+        for (int i = 0; i < ids.length; i++) {
+            Product product = new Product();
+            product.setProductId(ids[i]);
+            product.setProductName("Shared name");
+            product.setProductQuantity(i + 1);
+            productRepository.create(product);
+        }
+
+        assertEquals(3, productRepository.count());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i + 1, productRepository.findById(ids[i]).getProductQuantity());
+        }
+        assertEquals(3, productRepository.findByName("Shared name").size());
+
+        productRepository.deleteById(ids[0]);
+        assertNull(productRepository.findById(ids[0]));
+        assertEquals(List.of(ids[1], ids[2]),
+                productRepository.findByName("Shared name").stream().map(Product::getProductId).toList());
+    }
+
+    @Test
+    void testWriteRejectedByTheChangeLogLeavesNoTrace() {
+        Product product = new Product();
+        product.setProductId("id-1");
+        product.setProductName("Kept");
+        product.setProductQuantity(1);
+        productRepository.create(product);
+
+        AtomicInteger notified = new AtomicInteger();
+        productRepository.addListener(new StoreListener<>() {
+            @Override
+            public void onSave(String id, Product previous, Product current) {
+                notified.incrementAndGet();
+            }
+
+            @Override
+            public void onDelete(String id, Product previous) {
+                notified.incrementAndGet();
+            }
+        });
+        productRepository.attachChangeLog(new ChangeLog<>() {
+            @Override
+            public long logSave(String id, Product item) {
+                throw new IllegalStateException("closed");
+            }
+
+            @Override
+            public long logDelete(String id) {
+                throw new IllegalStateException("closed");
+            }
+
+            @Override
+            public void awaitDurable(long position) {
+            }
+        });
+
+        Product renamed = new Product();
+        renamed.setProductId("id-1");
+        renamed.setProductName("Renamed");
+        renamed.setProductQuantity(2);
+        Product added = new Product();
+        added.setProductName("Added");
+        added.setProductQuantity(3);
+        assertThrows(IllegalStateException.class, () -> productRepository.update(renamed));
+        assertThrows(IllegalStateException.class, () -> productRepository.create(added));
+        assertThrows(IllegalStateException.class, () -> productRepository.deleteById("id-1"));
+
+        assertEquals(0, notified.get());
+        assertEquals(1, productRepository.count());
+        assertEquals(1, productRepository.version());
+        assertEquals("Kept", productRepository.findById("id-1").getProductName());
+        assertEquals(1, productRepository.findByName("Kept").size());
+        assertTrue(productRepository.findByName("Renamed").isEmpty());
+        assertTrue(productRepository.findByName("Added").isEmpty());
+        Iterator<Product> all = productRepository.findAll();
+        assertEquals("Kept", all.next().getProductName());
+        assertFalse(all.hasNext());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.example.eshop.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SequenceTrieTest {
+
+    private static List<String> values(SequenceTrie<String> trie) {
+        List<String> values = new ArrayList<>();
+        trie.values().forEachRemaining(values::add);
+        return values;
+    }
+
+    private static List<Long> keysAfter(SequenceTrie<String> trie, long after) {
+        List<Long> keys = new ArrayList<>();
+        SequenceTrie.Cursor<String> cursor = trie.cursorAfter(after);
+        while (cursor.advance()) {
+            keys.add(cursor.key());
+        }
+        return keys;
+    }
+
+    @Test
+    void testMatchesTreeMapUnderRandomWrites() {
+        Random random = new Random(7);
+        TreeMap<Long, String> expected = new TreeMap<>();
+        SequenceTrie<String> trie = SequenceTrie.empty();
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(4) == 0 ? random.nextLong(Long.MAX_VALUE) : random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                trie = trie.without(key);
+            } else {
+                expected.put(key, "v" + i);
+                trie = trie.with(key, "v" + i);
+            }
+        }
+
+        assertEquals(expected.size(), trie.size());
+        assertEquals(new ArrayList<>(expected.values()), values(trie));
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), trie.get(entry.getKey()));
+        }
+        for (long after : new long[] {-1, 0, 17, 2500, 4999, 5000, Long.MAX_VALUE / 2, Long.MAX_VALUE}) {
+            assertEquals(new ArrayList<>(expected.tailMap(after, false).keySet()), keysAfter(trie, after),
+                    "keys after " + after);
+        }
+    }
+
+    @Test
+    void testOlderVersionsAreUnchangedByLaterWrites() {
+        SequenceTrie<String> first = SequenceTrie.<String>empty().with(1, "a").with(2, "b");
+        SequenceTrie<String> second = first.with(2, "B").with(3, "c").without(1);
+
+        assertEquals(List.of("a", "b"), values(first));
+        assertEquals(List.of("B", "c"), values(second));
+        assertEquals(2, first.size());
+    }
+
+    @Test
+    void testIteratorKeepsItsSnapshot() {
+        SequenceTrie<String> trie = SequenceTrie.empty();
+        for (long key = 1; key <= 100; key++) {
+            trie = trie.with(key, "v" + key);
+        }
+        Iterator<String> values = trie.values();
+        values.next();
+        for (long key = 1; key <= 100; key++) {
+            trie = trie.without(key);
+        }
+
+        int remaining = 0;
+        while (values.hasNext()) {
+            assertNotNull(values.next());
+            remaining++;
+        }
+        assertEquals(99, remaining);
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void testRemovingAbsentKeysReturnsTheSameTrie() {
+        SequenceTrie<String> trie = SequenceTrie.<String>empty().with(40, "a");
+
+        assertSame(trie, trie.without(41));
+        assertSame(trie, trie.without(1L << 40));
+        assertSame(trie, trie.without(-1));
+        assertNull(trie.get(1L << 40));
+        assertFalse(trie.cursorAfter(40).advance());
+    }
+
+    @Test
+    void testRejectsNegativeKeysAndNullValues() {
+        SequenceTrie<String> trie = SequenceTrie.empty();
+
+        assertThrows(IllegalArgumentException.class, () -> trie.with(-1, "a"));
+        assertThrows(IllegalArgumentException.class, () -> trie.with(1, null));
+    }
+
+    @Test
+    void testSpliteratorSplitsWithExactSizes() {
+        SequenceTrie<String> trie = SequenceTrie.empty();
+        for (long key = 1; key <= 10_000; key++) {
+            trie = trie.with(key, Long.toString(key));
+        }
+        trie = trie.without(500).without(9_999);
+
+        Spliterator<String> spliterator = trie.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        Spliterator<String> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(trie.size(), prefix.estimateSize() + spliterator.estimateSize());
+        assertEquals(prefix.estimateSize(), StreamSupport.stream(prefix, false).count());
+
+        List<String> parallel = StreamSupport.stream(trie.spliterator(), true).collect(Collectors.toList());
+        assertEquals(values(trie), parallel);
+    }
+}
\ No newline at end of file
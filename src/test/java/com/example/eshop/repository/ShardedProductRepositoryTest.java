@@ -0,0 +1,152 @@
+package com.example.eshop.repository;
+
+import com.example.eshop.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedProductRepositoryTest {
+
+    private ShardedProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ShardedProductRepository(4);
+    }
+
+    private static Product product(String name, int quantity) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setProductQuantity(quantity);
+        return product;
+    }
+
+    private List<String> createNamed(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(repository.create(product("Product " + i, i + 1)).getProductId());
+        }
+        return ids;
+    }
+
+    @Test
+    void rejectsZeroShards() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedProductRepository(0));
+    }
+
+    @Test
+    void pointOperationsReachTheOwningShard() {
+        List<String> ids = createNamed(50);
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals("Product " + i, repository.findById(ids.get(i)).getProductName());
+        }
+        Product renamed = product("Renamed", 7);
+        renamed.setProductId(ids.get(3));
+        assertNotNull(repository.update(renamed));
+        assertEquals("Renamed", repository.findById(ids.get(3)).getProductName());
+
+        repository.deleteById(ids.get(4));
+        assertNull(repository.findById(ids.get(4)));
+        assertEquals(49, repository.count());
+    }
+
+    @Test
+    void findAllMergesShardsInInsertionOrder() {
+        List<String> ids = createNamed(200);
+
+        List<String> listed = new ArrayList<>();
+        Iterator<Product> all = repository.findAll();
+        all.forEachRemaining(product -> listed.add(product.getProductId()));
+        assertEquals(ids, listed);
+        assertFalse(all.hasNext());
+    }
+
+    @Test
+    void pagesWalkEveryShardInInsertionOrder() {
+        List<String> ids = createNamed(95);
+
+        List<String> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Page<Product> page = repository.findPage(cursor, 10);
+            page.items().forEach(product -> listed.add(product.getProductId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(ids, listed);
+        assertEquals(10, pages);
+    }
+
+    @Test
+    void findByNameMergesMatchesFromAllShards() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Product created = repository.create(product(i % 2 == 0 ? "Shared" : "Other " + i, 1));
+            if (i % 2 == 0) {
+                expected.add(created.getProductId());
+            }
+        }
+
+        assertEquals(expected, repository.findByName("Shared").stream().map(Product::getProductId).toList());
+    }
+
+    @Test
+    void createAllSpreadsOneBatchOverTheShards() {
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(product("Batch " + i, 1));
+        }
+        repository.createAll(batch);
+
+        assertEquals(100, repository.count());
+        for (Product product : batch) {
+            assertNotNull(product.getProductId());
+            assertEquals(product.getProductName(), repository.findById(product.getProductId()).getProductName());
+        }
+    }
+
+    @Test
+    void versionMovesWithAnyShard() {
+        String id = createNamed(1).get(0);
+        long before = repository.version();
+        long rowBefore = repository.versionOf(id);
+
+        assertTrue(repository.adjustQuantity(id, 5));
+
+        assertNotEquals(before, repository.version());
+        assertNotEquals(rowBefore, repository.versionOf(id));
+        assertEquals(0, repository.versionOf("missing"));
+    }
+
+    @Test
+    void concurrentAdjustmentsAcrossShardsAreNotLost() throws InterruptedException {
+        List<String> ids = createNamed(16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1600; i++) {
+            String id = ids.get(i % ids.size());
+            executor.execute(() -> repository.adjustQuantity(id, 1));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1 + 100, repository.findById(ids.get(i)).getProductQuantity());
+        }
+    }
+}
\ No newline at end of file
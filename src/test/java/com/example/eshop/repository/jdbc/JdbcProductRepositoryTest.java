@@ -0,0 +1,185 @@
+package com.example.eshop.repository.jdbc;
+
+import com.example.eshop.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcProductRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private ConnectionPool pool;
+    private JdbcProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(properties());
+        repository = open(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+        pool.close();
+    }
+
+    // Long flush interval so only the explicit flushes in each test write buffered updates
+    private JdbcProperties properties() {
+        return new JdbcProperties("jdbc:h2:file:" + directory.resolve("eshop"), "sa", "", 2, Duration.ofSeconds(5),
+                new JdbcProperties.WriteBehind(true, Duration.ofHours(1), 500));
+    }
+
+    private static JdbcProductRepository open(ConnectionPool pool) {
+        return new JdbcProductRepository(pool, new JdbcProperties.WriteBehind(true, Duration.ofHours(1), 500));
+    }
+
+    private static Product product(String name, int quantity) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setProductQuantity(quantity);
+        return product;
+    }
+
+    private static Product copy(Product product, int quantity) {
+        Product updated = product(product.getProductName(), quantity);
+        updated.setProductId(product.getProductId());
+        return updated;
+    }
+
+    private List<String> names() {
+        List<String> names = new ArrayList<>();
+        repository.findAll().forEachRemaining(product -> names.add(product.getProductName()));
+        return names;
+    }
+
+    @Test
+    void testCreateAssignsIdsAndFindsRows() {
+        Product created = repository.create(product("Sampo", 10));
+
+        assertNotNull(created.getProductId());
+        Product found = repository.findById(created.getProductId());
+        assertEquals("Sampo", found.getProductName());
+        assertEquals(10, found.getProductQuantity());
+        assertEquals(1, repository.count());
+        assertTrue(repository.versionOf(created.getProductId()) > 0);
+    }
+
+    @Test
+    void testFindAllWalksInsertionOrderAcrossFetches() {
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            batch.add(product("Product " + i, i));
+        }
+        repository.createAll(batch);
+
+        List<String> names = names();
+        assertEquals(600, names.size());
+        assertEquals("Product 0", names.get(0));
+        assertEquals("Product 599", names.get(599));
+        assertEquals(List.of(batch.get(0).getProductId()),
+                repository.findPage(null, 1).items().stream().map(Product::getProductId).toList());
+    }
+
+    @Test
+    void testUpdateIsBufferedUntilFlushed() {
+        Product created = repository.create(product("Sampo", 10));
+        long stored = repository.versionOf(created.getProductId());
+
+        repository.update(copy(created, 20));
+        repository.update(copy(created, 30));
+
+        assertEquals(30, repository.findById(created.getProductId()).getProductQuantity());
+        assertEquals(1, repository.pendingWrites());
+        assertEquals(1, repository.coalescedWrites());
+        assertTrue(repository.versionOf(created.getProductId()) > stored);
+
+        repository.flush();
+        assertEquals(0, repository.pendingWrites());
+        assertEquals(30, repository.findById(created.getProductId()).getProductQuantity());
+    }
+
+    @Test
+    void testDeleteRemovesTheRowAndItsPendingUpdate() {
+        Product created = repository.create(product("Sampo", 10));
+        repository.update(copy(created, 20));
+
+        repository.deleteById(created.getProductId());
+        repository.flush();
+
+        assertNull(repository.findById(created.getProductId()));
+        assertEquals(0, repository.count());
+        assertEquals(List.of(), names());
+    }
+
+    @Test
+    void testFindByNameSeesBufferedUpdates() {
+        Product created = repository.create(product("Sampo", 10));
+        repository.create(product("Other", 1));
+
+        Product renamed = copy(created, 10);
+        renamed.setProductName("Renamed");
+        repository.update(renamed);
+
+        assertEquals(List.of(), repository.findByName("Sampo"));
+        assertEquals(1, repository.findByName("Renamed").size());
+    }
+
+    @Test
+    void testReopeningReloadsRowsAndKeepsStampsRising() {
+        Product kept = repository.create(product("Kept", 1));
+        Product updated = repository.create(product("Updated", 1));
+        Product deleted = repository.create(product("Deleted", 1));
+        repository.update(copy(updated, 5));
+        repository.deleteById(deleted.getProductId());
+        long version = repository.versionOf(updated.getProductId());
+        // Closing flushes what is still buffered
+        repository.close();
+        pool.close();
+
+        pool = new ConnectionPool(properties());
+        repository = open(pool);
+
+        assertEquals(List.of("Kept", "Updated"), names());
+        assertEquals(5, repository.findById(updated.getProductId()).getProductQuantity());
+        assertEquals(1, repository.findById(kept.getProductId()).getProductQuantity());
+        assertNull(repository.findById(deleted.getProductId()));
+        repository.update(copy(updated, 6));
+        assertTrue(repository.versionOf(updated.getProductId()) > version);
+    }
+
+    @Test
+    void testFailedBatchIsNotWrittenByTheNextBorrower() {
+        // The same statement text the store batches its inserts on, so both share the cached statement
+        String insert = "INSERT INTO product (id, product_name, product_quantity, row_version) VALUES (?, ?, ?, ?)";
+        assertThrows(UncheckedSQLException.class, () -> pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare(insert);
+            statement.setString(1, "leaked");
+            statement.setString(2, "Leaked");
+            statement.setInt(3, 1);
+            statement.setLong(4, 1);
+            statement.addBatch();
+            throw new SQLException("failed before the batch ran");
+        }));
+
+        repository.create(product("Sampo", 10));
+
+        assertNull(repository.findById("leaked"));
+        assertEquals(List.of("Sampo"), names());
+    }
+}
\ No newline at end of file
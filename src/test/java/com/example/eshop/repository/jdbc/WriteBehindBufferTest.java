@@ -0,0 +1,128 @@
+package com.example.eshop.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindBufferTest {
+
+    private final List<List<WriteBehindBuffer.Pending<String>>> batches = new ArrayList<>();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    // Long interval so only the explicit flushes in each test write anything
+    private final WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>("test", batch -> {
+        if (failing.get()) {
+            throw new IllegalStateException("database down");
+        }
+        batches.add(List.copyOf(batch));
+    }, Duration.ofHours(1), 2);
+
+    @AfterEach
+    void close() {
+        failing.set(false);
+        buffer.close();
+    }
+
+    @Test
+    void repeatedUpdatesToOneRowAreWrittenOnce() {
+        buffer.put("c1", "red", 1);
+        buffer.put("c1", "blue", 2);
+        buffer.put("c1", "green", 3);
+
+        assertEquals("green", buffer.get("c1").item());
+        assertEquals(2, buffer.coalesced());
+
+        buffer.flush();
+        assertEquals(1, batches.size());
+        assertEquals(List.of(new WriteBehindBuffer.Pending<>("c1", "green", 3)), batches.get(0));
+        assertNull(buffer.get("c1"));
+    }
+
+    @Test
+    void flushSplitsIntoBatchesOfTheConfiguredSize() {
+        for (int i = 0; i < 5; i++) {
+            buffer.put("c" + i, "row", i + 1);
+        }
+        buffer.flush();
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void failedWritesStayPending() {
+        buffer.put("c1", "red", 1);
+        failing.set(true);
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals("red", buffer.get("c1").item());
+
+        failing.set(false);
+        buffer.flush();
+        assertNull(buffer.get("c1"));
+    }
+
+    @Test
+    void failedBackgroundFlushesAreCounted() throws InterruptedException {
+        WriteBehindBuffer<String> failingBuffer = new WriteBehindBuffer<>("failing", batch -> {
+            throw new IllegalStateException("database down");
+        }, Duration.ofMillis(5), 10);
+        try {
+            failingBuffer.put("c1", "red", 1);
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (failingBuffer.failedFlushes() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertTrue(failingBuffer.failedFlushes() >= 3);
+            assertEquals(1, failingBuffer.size());
+            assertEquals("red", failingBuffer.get("c1").item());
+        } finally {
+            assertThrows(IllegalStateException.class, failingBuffer::close);
+        }
+    }
+
+    @Test
+    void discardDropsThePendingWrite() {
+        buffer.put("c1", "red", 1);
+        buffer.discard("c1");
+        buffer.flush();
+
+        assertEquals(0, batches.size());
+    }
+
+    @Test
+    void updateArrivingDuringAWriteIsKept() {
+        AtomicReference<WriteBehindBuffer<String>> racing = new AtomicReference<>();
+        racing.set(new WriteBehindBuffer<>("racing", batch -> {
+            batches.add(List.copyOf(batch));
+            if (batches.size() == 1) {
+                // A newer update lands while the older one is being written
+                racing.get().put("c1", "blue", 2);
+            }
+        }, Duration.ofHours(1), 10));
+        racing.get().put("c1", "red", 1);
+        racing.get().flush();
+
+        assertEquals("blue", racing.get().get("c1").item());
+        racing.get().close();
+        assertEquals("blue", batches.get(1).get(0).item());
+    }
+
+    @Test
+    void closeFlushesWhatIsLeft() {
+        buffer.put("c1", "red", 1);
+        buffer.close();
+
+        assertEquals(1, batches.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.repository.CarRepository;
+import com.example.eshop.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistenceConfigurationTest {
+
+    @TempDir
+    Path directory;
+
+    private ApplicationContextRunner runner() {
+        return new ApplicationContextRunner()
+                .withUserConfiguration(PersistenceConfiguration.class)
+                .withBean(ProductRepository.class)
+                .withBean(CarRepository.class)
+                .withPropertyValues("eshop.persistence.enabled=true", "eshop.persistence.directory=" + directory);
+    }
+
+    @Test
+    void testPersistsHeapStores() {
+        runner().run(context -> {
+            assertNull(context.getStartupFailure());
+            assertEquals(2, context.getBeansOfType(StorePersistence.class).size());
+        });
+    }
+
+    @Test
+    void testRefusesToStartWithShardedStorage() {
+        runner().withPropertyValues("eshop.product.storage=sharded").run(context -> {
+            Throwable failure = context.getStartupFailure();
+            assertNotNull(failure);
+            Throwable cause = failure;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause.getMessage().contains("eshop.product.storage=sharded"), cause.getMessage());
+        });
+    }
+
+    @Test
+    void testOffHeapCarStorageIsRefusedToo() {
+        runner().withPropertyValues("eshop.car.storage=offheap").run(context ->
+                assertNotNull(context.getStartupFailure()));
+    }
+}
\ No newline at end of file
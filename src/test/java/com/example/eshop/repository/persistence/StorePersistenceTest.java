@@ -0,0 +1,98 @@
+package com.example.eshop.repository.persistence;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StorePersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    private PersistenceProperties properties() {
+        return new PersistenceProperties(true, directory, true, Duration.ofHours(1));
+    }
+
+    private StorePersistence<Product> open(ProductRepository repository) {
+        return StorePersistence.open(repository, "product", new ProductCodec(), properties());
+    }
+
+    private Product product(String id, String name, int quantity) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName(name);
+        product.setProductQuantity(quantity);
+        return product;
+    }
+
+    @Test
+    void testRecoversFromLogWithoutSnapshot() throws IOException {
+        ProductRepository repository = new ProductRepository();
+        StorePersistence<Product> persistence = open(repository);
+        repository.create(product("id-1", "Sampo", 1));
+        repository.create(product("id-2", "Sabun", 2));
+        repository.update(product("id-1", "Sampo Baru", 5));
+        repository.deleteById("id-2");
+
+        // Simulate a crash: no close, so no snapshot is written
+        ProductRepository recovered = new ProductRepository();
+        open(recovered).close();
+
+        assertEquals("Sampo Baru", recovered.findById("id-1").getProductName());
+        assertEquals(5, recovered.findById("id-1").getProductQuantity());
+        assertNull(recovered.findById("id-2"));
+        persistence.close();
+    }
+
+    @Test
+    void testSnapshotCompactsLogAndKeepsLaterWrites() throws IOException {
+        ProductRepository repository = new ProductRepository();
+        StorePersistence<Product> persistence = open(repository);
+        repository.create(product("id-1", "Sampo", 1));
+        persistence.snapshot();
+        repository.create(product("id-2", "Sabun", 2));
+
+        assertTrue(Files.exists(directory.resolve("product.snapshot")));
+        assertFalse(Files.exists(WriteAheadLog.segmentPath(directory, "product", 1)));
+
+        ProductRepository recovered = new ProductRepository();
+        StorePersistence<Product> reopened = open(recovered);
+        assertEquals("Sampo", recovered.findById("id-1").getProductName());
+        assertEquals("Sabun", recovered.findById("id-2").getProductName());
+        assertEquals("id-1", recovered.findAll().next().getProductId());
+        reopened.close();
+        persistence.close();
+    }
+
+    @Test
+    void testReplayStopsAtTornRecord() throws IOException {
+        ProductRepository repository = new ProductRepository();
+        StorePersistence<Product> persistence = open(repository);
+        repository.create(product("id-1", "Sampo", 1));
+        repository.create(product("id-2", "Sabun", 2));
+
+        Path segment = WriteAheadLog.segmentPath(directory, "product", 1);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        ProductRepository recovered = new ProductRepository();
+        WriteAheadLog.replay(segment, new ProductCodec(), recovered);
+        assertEquals("Sampo", recovered.findById("id-1").getProductName());
+        assertNull(recovered.findById("id-2"));
+        persistence.close();
+    }
+}
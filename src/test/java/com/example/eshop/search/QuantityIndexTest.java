@@ -0,0 +1,70 @@
+package com.example.eshop.search;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuantityIndexTest {
+
+    private ProductRepository productRepository;
+    private QuantityIndex<Product> index;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new ProductRepository();
+        index = new QuantityIndex<>(Product::getProductQuantity);
+        productRepository.addListener(index);
+    }
+
+    private void createProduct(String id, int quantity) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName("Product " + id);
+        product.setProductQuantity(quantity);
+        productRepository.create(product);
+    }
+
+    @Test
+    void testBelowIsSortedByQuantityThenId() {
+        createProduct("id-c", 3);
+        createProduct("id-a", 7);
+        createProduct("id-b", 3);
+        createProduct("id-d", 10);
+
+        assertEquals(List.of("id-b", "id-c", "id-a"), index.below(10, 10));
+        assertEquals(List.of("id-b"), index.below(10, 1));
+        assertEquals(List.of(), index.below(3, 10));
+    }
+
+    @Test
+    void testFollowsUpdatesAdjustmentsAndDeletes() {
+        createProduct("id-a", 2);
+        createProduct("id-b", 5);
+
+        Product restocked = new Product();
+        restocked.setProductId("id-a");
+        restocked.setProductName("Product id-a");
+        restocked.setProductQuantity(50);
+        productRepository.update(restocked);
+        productRepository.adjustQuantity("id-b", -4);
+        assertEquals(List.of("id-b"), index.below(10, 10));
+
+        productRepository.deleteById("id-b");
+        assertEquals(List.of(), index.below(10, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testBackfillLoadsExistingRows() {
+        createProduct("id-a", 1);
+        QuantityIndex<Product> late = new QuantityIndex<>(Product::getProductQuantity);
+        late.backfill(productRepository.findAll(), Product::getProductId);
+
+        assertEquals(List.of("id-a"), late.below(2, 10));
+    }
+}
\ No newline at end of file
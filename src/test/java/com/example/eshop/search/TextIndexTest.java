@@ -0,0 +1,97 @@
+package com.example.eshop.search;
+
+import com.example.eshop.model.Product;
+import com.example.eshop.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextIndexTest {
+
+    private ProductRepository productRepository;
+    private TextIndex<Product> index;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new ProductRepository();
+        index = new TextIndex<>(Product::getProductName);
+        productRepository.addListener(index);
+    }
+
+    private void createProduct(String id, String name) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName(name);
+        product.setProductQuantity(1);
+        productRepository.create(product);
+    }
+
+    @Test
+    void testPrefixAndMultiTermSearch() {
+        createProduct("id-1", "Sampo Cap Bambang");
+        createProduct("id-2", "Sampo Cap Usep");
+        createProduct("id-3", "Sabun Mandi");
+
+        assertEquals(List.of("id-1", "id-2"), index.search("samp", 10).stream().sorted().toList());
+        assertEquals(List.of("id-2"), index.search("cap us", 10));
+        assertEquals(List.of("id-3"), index.search("MANDI", 10));
+        assertTrue(index.search("sampo mandi", 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void testLimit() {
+        for (int i = 0; i < 20; i++) {
+            createProduct("id-" + i, "Sampo " + i);
+        }
+        assertEquals(5, index.search("sampo", 5).size());
+    }
+
+    @Test
+    void testFollowsAnUpdateOfTheStoredInstance() {
+        createProduct("id-1", "Sampo Cap Bambang");
+
+        Product stored = productRepository.findById("id-1");
+        stored.setProductName("Sabun Mandi");
+        productRepository.update(stored);
+
+        assertTrue(index.search("sampo", 10).isEmpty());
+        assertEquals(List.of("id-1"), index.search("mandi", 10));
+    }
+
+    @Test
+    void testFollowsUpdatesAndDeletes() {
+        createProduct("id-1", "Sampo");
+        createProduct("id-2", "Sabun");
+
+        Product renamed = new Product();
+        renamed.setProductId("id-1");
+        renamed.setProductName("Odol");
+        productRepository.update(renamed);
+        productRepository.deleteById("id-2");
+
+        assertTrue(index.search("sampo", 10).isEmpty());
+        assertTrue(index.search("sabun", 10).isEmpty());
+        assertEquals(List.of("id-1"), index.search("odol", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testBackfillIndexesExistingRows() {
+        ProductRepository existing = new ProductRepository();
+        Product product = new Product();
+        product.setProductId("id-1");
+        product.setProductName("Sampo");
+        existing.create(product);
+
+        TextIndex<Product> late = new TextIndex<>(Product::getProductName);
+        existing.addListener(late);
+        late.backfill(existing.findAll(), Product::getProductId);
+
+        assertEquals(List.of("id-1"), late.search("sam", 10));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.example.eshop.service;
+
+import com.example.eshop.model.Car;
+import com.example.eshop.repository.CarRepositoryInterface;
+import com.example.eshop.search.TextIndex;
+import com.example.eshop.timing.TimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CarServiceImplTest {
+
+    @InjectMocks
+    private CarServiceImpl carService;
+
+    @Mock
+    private CarRepositoryInterface carRepository;
+
+    @Mock
+    private TextIndex<Car> carSearchIndex;
+
+    @Mock
+    private TimingWheel carHoldWheel;
+
+    private TimingWheel.Timeout timeout;
+
+    @BeforeEach
+    void setUp() {
+        timeout = mock(TimingWheel.Timeout.class);
+    }
+
+    private CarHold holdTwo() {
+        when(carRepository.adjustQuantity("car-1", -2)).thenReturn(true);
+        when(carHoldWheel.schedule(anyLong(), any())).thenReturn(timeout);
+        return carService.hold("car-1", 2);
+    }
+
+    @Test
+    void testHoldTakesStockAndSchedulesExpiry() {
+        CarHold hold = holdTwo();
+
+        assertNotNull(hold.holdId());
+        assertEquals(2, hold.quantity());
+        verify(carHoldWheel).schedule(eq(300_000L), any());
+    }
+
+    @Test
+    void testHoldFailsWhenStockIsShort() {
+        when(carRepository.adjustQuantity("car-1", -2)).thenReturn(false);
+
+        assertNull(carService.hold("car-1", 2));
+        verify(carHoldWheel, never()).schedule(anyLong(), any());
+    }
+
+    @Test
+    void testHoldRejectsNonPositiveQuantity() {
+        assertThrows(IllegalArgumentException.class, () -> carService.hold("car-1", 0));
+    }
+
+    @Test
+    void testConfirmKeepsStockTaken() {
+        CarHold hold = holdTwo();
+        when(timeout.cancel()).thenReturn(true);
+
+        assertTrue(carService.confirm(hold.holdId()));
+        assertFalse(carService.confirm(hold.holdId()));
+        verify(carRepository, never()).adjustQuantity("car-1", 2);
+    }
+
+    @Test
+    void testCancelReturnsStock() {
+        CarHold hold = holdTwo();
+        when(timeout.cancel()).thenReturn(true);
+
+        assertTrue(carService.cancel(hold.holdId()));
+        verify(carRepository).adjustQuantity("car-1", 2);
+    }
+
+    @Test
+    void testExpiryReturnsStockAndEndsHold() {
+        CarHold hold = holdTwo();
+        ArgumentCaptor<Runnable> expiry = ArgumentCaptor.forClass(Runnable.class);
+        verify(carHoldWheel).schedule(anyLong(), expiry.capture());
+
+        expiry.getValue().run();
+
+        verify(carRepository).adjustQuantity("car-1", 2);
+        assertFalse(carService.confirm(hold.holdId()));
+    }
+
+    @Test
+    void testUnknownHoldIsIgnored() {
+        assertFalse(carService.cancel("missing"));
+        verify(carRepository, never()).adjustQuantity(any(), anyInt());
+    }
+
+    @Test
+    void testShutdownReturnsStockOfPendingHolds() {
+        CarHold hold = holdTwo();
+        when(timeout.cancel()).thenReturn(true);
+
+        carService.releaseHolds();
+
+        verify(carRepository).adjustQuantity("car-1", 2);
+        assertFalse(carService.cancel(hold.holdId()));
+    }
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.example.eshop.service;
 
 import com.example.eshop.model.Product;
 import com.example.eshop.repository.ProductRepository;
+import com.example.eshop.search.QuantityIndex;
+import com.example.eshop.search.TextIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,11 +18,13 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,6 +38,12 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private TextIndex<Product> productSearchIndex;
+
+    @Mock
+    private QuantityIndex<Product> productQuantityIndex;
+
     private Product product;
 
     @BeforeEach
@@ -132,6 +142,37 @@ class ProductServiceImplTest {
         verify(productRepository).findAll();
     }
 
+    @Test
+    void testIterateAllReturnsRepositoryIterator() {
+        Iterator<Product> iterator = Collections.singletonList(product).iterator();
+        when(productRepository.findAll()).thenReturn(iterator);
+
+        assertEquals(iterator, productService.iterateAll());
+    }
+
+    @Test
+    void testSearchResolvesIndexedIds() {
+        product.setProductId("some-id");
+        when(productSearchIndex.search("valid", 10)).thenReturn(List.of("some-id", "gone-id"));
+        when(productRepository.findById("some-id")).thenReturn(product);
+        when(productRepository.findById("gone-id")).thenReturn(null);
+
+        List<Product> results = productService.search("valid", 10);
+        assertEquals(List.of(product), results);
+    }
+
+    @Test
+    void testFindLowStockDropsRowsRestockedSinceTheIndexRead() {
+        Product restocked = new Product();
+        restocked.setProductQuantity(40);
+        product.setProductQuantity(2);
+        when(productQuantityIndex.below(5, 10)).thenReturn(List.of("low-id", "restocked-id"));
+        when(productRepository.findById("low-id")).thenReturn(product);
+        when(productRepository.findById("restocked-id")).thenReturn(restocked);
+
+        assertEquals(List.of(product), productService.findLowStock(5, 10));
+    }
+
     @Test
     void testFindByIdFound() {
         product.setProductId("some-id");
@@ -178,4 +219,25 @@ class ProductServiceImplTest {
         productService.deleteById("some-id");
         verify(productRepository).deleteById("some-id");
     }
+
+    @Test
+    void testReserveTakesStockFromRepository() {
+        when(productRepository.adjustQuantity("id-1", -2)).thenReturn(true);
+
+        assertTrue(productService.reserve("id-1", 2));
+        verify(productRepository).adjustQuantity("id-1", -2);
+    }
+
+    @Test
+    void testReleaseReturnsStockToRepository() {
+        when(productRepository.adjustQuantity("id-1", 2)).thenReturn(false);
+
+        assertFalse(productService.release("id-1", 2));
+    }
+
+    @Test
+    void testReserveRejectsNonPositiveQuantity() {
+        assertThrows(IllegalArgumentException.class, () -> productService.reserve("id-1", 0));
+        verify(productRepository, never()).adjustQuantity(any(), anyInt());
+    }
 }
\ No newline at end of file
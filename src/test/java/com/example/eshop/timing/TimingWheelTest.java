@@ -0,0 +1,88 @@
+package com.example.eshop.timing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private AtomicLong clock;
+    private List<Long> lags;
+    private TimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000);
+        lags = new ArrayList<>();
+        wheel = new TimingWheel("test", 10, clock::get, lags::add);
+    }
+
+    private void advanceTo(long millis) {
+        clock.set(millis);
+        wheel.advance();
+    }
+
+    @Test
+    void testExpiresOnItsTick() {
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(50, () -> fired.add("hold"));
+        wheel.advance();
+
+        advanceTo(1_040);
+        assertTrue(fired.isEmpty());
+        assertEquals(1L, wheel.pending());
+
+        advanceTo(1_055);
+        assertEquals(List.of("hold"), fired);
+        assertEquals(0L, wheel.pending());
+        assertEquals(List.of(5L), lags);
+    }
+
+    @Test
+    void testCascadesLongDelaysThroughEveryLevel() {
+        long[] delays = {5, 630, 640, 41_000, 2_700_000, 200_000_000};
+        List<Long> fired = new ArrayList<>();
+        for (long delay : delays) {
+            wheel.schedule(delay, () -> fired.add(clock.get() - 1_000));
+        }
+        // Coarse steps keep the test fast; the wheel still walks every tick in between
+        for (long now = 1_000; now <= 1_000 + 200_000_000; now += 1_000) {
+            advanceTo(now);
+        }
+
+        assertEquals(delays.length, fired.size());
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue(fired.get(i) >= delays[i] && fired.get(i) < delays[i] + 1_000, "fired at " + fired.get(i));
+        }
+    }
+
+    @Test
+    void testCancelledTimeoutNeverFires() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel.Timeout timeout = wheel.schedule(50, () -> fired.add("hold"));
+        wheel.advance();
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        advanceTo(2_000);
+
+        assertTrue(fired.isEmpty());
+        assertEquals(0L, wheel.pending());
+    }
+
+    @Test
+    void testCancelLosesToExpiry() {
+        TimingWheel.Timeout timeout = wheel.schedule(0, () -> { });
+        wheel.advance();
+
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+}
\ No newline at end of file